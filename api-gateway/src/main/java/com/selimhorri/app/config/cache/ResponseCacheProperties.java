@@ -0,0 +1,61 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Tuning for the gateway response cache applied by the {@code ResponseCache} route filter
+ * (see {@code response-cache.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "response-cache")
+@Data
+public class ResponseCacheProperties {
+	
+	/**
+	 * How long a cached response is served; bounds staleness after writes that bypass the gateway
+	 */
+	private Duration ttl = Duration.ofSeconds(30);
+	
+	/**
+	 * Upper bound for the summed size of all cached bodies
+	 */
+	private DataSize maxMemory = DataSize.ofMegabytes(64);
+	
+	/**
+	 * Responses larger than this are passed through without being cached
+	 */
+	private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+	
+	/**
+	 * Path patterns whose GET responses are cached; a successful write to any of them clears the cache
+	 */
+	private List<String> paths = List.of(
+			"/product-service/api/products/**",
+			"/product-service/api/categories/**");
+	
+	/**
+	 * Paths under {@link #paths} that stream their body (NDJSON); passed through without being buffered
+	 */
+	private List<String> excludedPaths = List.of("/product-service/api/products/stream");
+	
+	/**
+	 * Paths on other routes (filter applied as {@code ResponseCache=true}) whose successful writes change
+	 * what {@link #paths} return, such as frontend catalog writes through PROXY-CLIENT
+	 */
+	private List<String> invalidatePaths = List.of(
+			"/app/api/products/**",
+			"/app/api/categories/**");
+	
+	/**
+	 * POST lookups under {@link #paths} that read rather than write, so they neither get cached nor clear the cache
+	 */
+	private List<String> lookupPaths = List.of("/product-service/api/products/batch");
+	
+}
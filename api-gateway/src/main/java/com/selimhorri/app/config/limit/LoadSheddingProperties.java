@@ -0,0 +1,65 @@
+package com.selimhorri.app.config.limit;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import com.selimhorri.app.filter.limit.RoutePriority;
+
+import lombok.Data;
+
+/**
+ * Admission thresholds for {@code LoadSheddingGlobalFilter} (see {@code load-shedding.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "load-shedding")
+@Data
+public class LoadSheddingProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * Requests the gateway keeps in flight before it rejects even {@code HIGH} priority routes
+	 */
+	private int maxInFlight = 500;
+	
+	/**
+	 * Fraction of {@link #maxInFlight} at which each priority starts being shed; lower priorities go first
+	 */
+	private Map<RoutePriority, Double> shedAt = new EnumMap<>(Map.of(
+			RoutePriority.LOW, 0.6,
+			RoutePriority.NORMAL, 0.85,
+			RoutePriority.HIGH, 1.0));
+	
+	/**
+	 * Priority per route id; routes not listed are {@code NORMAL}
+	 */
+	private Map<String, RoutePriority> routes = new HashMap<>();
+	
+	/**
+	 * Priority per path pattern, checked in order before {@link #routes}; needed where one route
+	 * (such as the frontend's {@code /app/**}) carries traffic of different priorities
+	 */
+	private Map<String, RoutePriority> paths = new LinkedHashMap<>();
+	
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	
+	public RoutePriority priorityOf(final String routeId, final String path) {
+		if (path != null)
+			for (final Map.Entry<String, RoutePriority> entry : this.paths.entrySet())
+				if (this.pathMatcher.match(entry.getKey(), path))
+					return entry.getValue();
+		return routeId == null ? RoutePriority.NORMAL : this.routes.getOrDefault(routeId, RoutePriority.NORMAL);
+	}
+	
+	public int limitFor(final RoutePriority priority) {
+		return (int) Math.ceil(this.maxInFlight * this.shedAt.getOrDefault(priority, 1.0));
+	}
+	
+}
@@ -0,0 +1,66 @@
+package com.selimhorri.app.config.limit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Token buckets applied by the {@code RequestRateLimiter} default filter, one bucket per route and client
+ * (see {@code rate-limit.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+	
+	/**
+	 * Limit for routes without an entry in {@link #routes}
+	 */
+	private Limit defaults = new Limit();
+	
+	/**
+	 * Per-route overrides, keyed by route id
+	 */
+	private Map<String, Limit> routes = new HashMap<>();
+	
+	/**
+	 * Number of proxies in front of the gateway whose X-Forwarded-For hops are trusted;
+	 * 0 keys clients by the socket address so the header cannot be used to dodge the limit
+	 */
+	private int trustedProxies = 0;
+	
+	/**
+	 * Buckets untouched for this long are dropped (an idle bucket is full anyway)
+	 */
+	private Duration idleExpiry = Duration.ofMinutes(5);
+	
+	/**
+	 * Upper bound on the number of buckets kept in memory
+	 */
+	private long maxTrackedClients = 100_000;
+	
+	public Limit limitFor(final String routeId) {
+		return this.routes.getOrDefault(routeId, this.defaults);
+	}
+	
+	@Data
+	public static class Limit {
+		
+		/**
+		 * Tokens added per second, i.e. the sustained request rate allowed per client
+		 */
+		private int replenishRate = 50;
+		
+		/**
+		 * Bucket size, i.e. the largest burst a client can send at once
+		 */
+		private int burstCapacity = 100;
+	
+	}
+	
+}
@@ -0,0 +1,91 @@
+package com.selimhorri.app.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.limit.LoadSheddingProperties;
+import com.selimhorri.app.filter.limit.RoutePriority;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rejects requests with 503 once the gateway has too many requests in flight, starting with
+ * {@code LOW} priority traffic so checkout keeps flowing the longest. Priority comes from the request
+ * path where {@code load-shedding.paths} lists it (frontend calls all share the PROXY-CLIENT route),
+ * otherwise from the route.
+ * 
+ * Publishes {@code gateway.in-flight} and {@code gateway.shed{route,priority}}.
+ */
+@Component
+@Slf4j
+public class LoadSheddingGlobalFilter implements GlobalFilter, Ordered {
+	
+	private final LoadSheddingProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	
+	public LoadSheddingGlobalFilter(final LoadSheddingProperties properties, final MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		Gauge.builder("gateway.in-flight", this.inFlight, AtomicInteger::get)
+				.description("Requests admitted by the gateway and not yet completed")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		if (!this.properties.isEnabled())
+			return chain.filter(exchange);
+		
+		final Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+		final String routeId = route != null ? route.getId() : "unknown";
+		final RoutePriority priority = this.properties.priorityOf(route != null ? route.getId() : null, 
+				exchange.getRequest().getPath().pathWithinApplication().value());
+		
+		if (this.inFlight.incrementAndGet() > this.properties.limitFor(priority)) {
+			this.inFlight.decrementAndGet();
+			log.debug("Shedding {} request to route {}", priority, routeId);
+			Counter.builder("gateway.shed")
+					.tag("route", routeId)
+					.tag("priority", priority.name())
+					.register(this.meterRegistry)
+					.increment();
+			final ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+			return response.setComplete();
+		}
+		return chain.filter(exchange)
+				.doFinally(signal -> this.inFlight.decrementAndGet());
+	}
+	
+	public int getInFlight() {
+		return this.inFlight.get();
+	}
+	
+	/**
+	 * Runs ahead of every route filter, so shed requests cost nothing beyond this check
+	 */
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+	
+	
+	
+}
@@ -0,0 +1,223 @@
+package com.selimhorri.app.filter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.filter.cache.CachedResponse;
+import com.selimhorri.app.filter.cache.ResponseCache;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ResponseCache} route filter: serves GETs on {@code response-cache.paths} from {@link ResponseCache}
+ * and clears it after a successful write to any of those paths.
+ * 
+ * Only 200 responses without {@code Set-Cookie} or {@code Cache-Control: no-store/private} are stored.
+ * At most {@code response-cache.max-entry-size} of a body is buffered; a larger (or streamed) body
+ * is passed through from that point on without being stored.
+ * Every stored response carries an ETag (the upstream one, or a body digest), and a matching
+ * {@code If-None-Match} is answered with 304. {@code Cache-Control: no-cache} on the request forces
+ * a trip upstream. Responses are marked {@code X-Cache: HIT|MISS}.
+ * 
+ * {@code ResponseCache=true} applies the filter in invalidate-only mode: nothing is served or stored,
+ * but a successful write to {@code response-cache.invalidate-paths} clears the cache. This covers routes
+ * such as PROXY-CLIENT that change the catalog without going through the cached route.
+ */
+@Component
+@Slf4j
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+	
+	public static final String CACHE_STATUS_HEADER = "X-Cache";
+	
+	private final ResponseCache responseCache;
+	
+	public ResponseCacheGatewayFilterFactory(final ResponseCache responseCache) {
+		super(Config.class);
+		this.responseCache = responseCache;
+	}
+	
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("invalidateOnly");
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		if (config.isInvalidateOnly())
+			return new OrderedGatewayFilter((exchange, chain) -> 
+					this.responseCache.isInvalidatedBy(exchange.getRequest()) && isWrite(exchange.getRequest()) 
+							? this.invalidateAfter(exchange, chain) 
+							: chain.filter(exchange), 
+					NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+		// must wrap the response before NettyWriteResponseFilter writes the upstream body
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			final ServerHttpRequest request = exchange.getRequest();
+			if (!this.responseCache.isCacheable(request))
+				return chain.filter(exchange);
+			if (request.getMethod() == HttpMethod.GET)
+				return this.get(exchange, chain);
+			if (!isWrite(request) || this.responseCache.isLookup(request))
+				return chain.filter(exchange);
+			return this.invalidateAfter(exchange, chain);
+		}, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+	}
+	
+	private Mono<Void> invalidateAfter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final ServerHttpRequest request = exchange.getRequest();
+		return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+			final HttpStatus status = exchange.getResponse().getStatusCode();
+			if (status == null || status.is2xxSuccessful()) {
+				log.debug("Clearing response cache after {} {}", request.getMethod(), request.getPath());
+				this.responseCache.invalidateAll();
+			}
+		}));
+	}
+	
+	private static boolean isWrite(final ServerHttpRequest request) {
+		return request.getMethod() != HttpMethod.GET && request.getMethod() != HttpMethod.HEAD 
+				&& request.getMethod() != HttpMethod.OPTIONS;
+	}
+	
+	private Mono<Void> get(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		final ServerHttpRequest request = exchange.getRequest();
+		final String key = this.responseCache.keyOf(request);
+		final CachedResponse cached = this.responseCache.get(key);
+		if (cached != null && !hasDirective(request.getHeaders(), "no-cache"))
+			return this.writeCached(exchange, cached);
+		
+		final ServerHttpResponseDecorator storingResponse = new ServerHttpResponseDecorator(exchange.getResponse()) {
+			
+			@Override
+			public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+				if (!isStorable(this))
+					return super.writeWith(body);
+				// buffers are grouped until the body either completes or outgrows a cache entry
+				final AtomicLong size = new AtomicLong();
+				return Flux.<DataBuffer>from(body)
+						.bufferUntil(buffer -> !ResponseCacheGatewayFilterFactory.this.responseCache
+								.fits(size.addAndGet(buffer.readableByteCount())))
+						.switchOnFirst((first, buffers) -> {
+							if (!ResponseCacheGatewayFilterFactory.this.responseCache.fits(size.get()))
+								return this.passThrough(buffers.concatMapIterable(group -> group));
+							return buffers.next()
+									.map(group -> this.bufferFactory().join(group))
+									.defaultIfEmpty(this.bufferFactory().wrap(new byte[0]))
+									.flatMap(joined -> {
+										final byte[] bytes = new byte[joined.readableByteCount()];
+										joined.read(bytes);
+										DataBufferUtils.release(joined);
+										return this.store(bytes);
+									});
+						})
+						.then();
+			}
+			
+			private Mono<Void> passThrough(final Flux<DataBuffer> body) {
+				log.debug("Not caching {}, body exceeds the maximum entry size", request.getPath());
+				this.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+				return super.writeWith(body);
+			}
+			
+			private Mono<Void> store(final byte[] bytes) {
+				final HttpHeaders headers = this.getHeaders();
+				headers.setContentLength(bytes.length);
+				headers.set(CACHE_STATUS_HEADER, "MISS");
+				if (!ResponseCacheGatewayFilterFactory.this.responseCache.fits(bytes.length))
+					return super.writeWith(Mono.just(this.bufferFactory().wrap(bytes)));
+				final String etag = headers.getETag() != null ? headers.getETag() : ResponseCache.etagOf(bytes);
+				headers.setETag(etag);
+				ResponseCacheGatewayFilterFactory.this.responseCache.put(key, 
+						new CachedResponse(this.getStatusCode(), storedHeaders(headers), bytes, etag));
+				if (matches(request, etag))
+					return notModified(this);
+				return super.writeWith(Mono.just(this.bufferFactory().wrap(bytes)));
+			}
+		};
+		return chain.filter(exchange.mutate().response(storingResponse).build());
+	}
+	
+	private Mono<Void> writeCached(final ServerWebExchange exchange, final CachedResponse cached) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.getHeaders().putAll(cached.getHeaders());
+		response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+		if (matches(exchange.getRequest(), cached.getEtag()))
+			return notModified(response);
+		response.setStatusCode(cached.getStatus());
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+	}
+	
+	private boolean isStorable(final ServerHttpResponse response) {
+		final HttpHeaders headers = response.getHeaders();
+		return response.getStatusCode() == HttpStatus.OK 
+				&& !headers.containsKey(HttpHeaders.SET_COOKIE)
+				&& !hasDirective(headers, "no-store") 
+				&& !hasDirective(headers, "private")
+				&& (headers.getContentLength() < 0 || this.responseCache.fits(headers.getContentLength()));
+	}
+	
+	private static Mono<Void> notModified(final ServerHttpResponse response) {
+		response.setStatusCode(HttpStatus.NOT_MODIFIED);
+		response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+		return response.setComplete();
+	}
+	
+	private static boolean matches(final ServerHttpRequest request, final String etag) {
+		final List<String> ifNoneMatch = request.getHeaders().get(HttpHeaders.IF_NONE_MATCH);
+		return ifNoneMatch != null && ifNoneMatch.stream()
+				.anyMatch(value -> value.contains(etag) || value.trim().equals("*"));
+	}
+	
+	private static boolean hasDirective(final HttpHeaders headers, final String directive) {
+		final List<String> cacheControl = headers.get(HttpHeaders.CACHE_CONTROL);
+		return cacheControl != null && cacheControl.stream()
+				.anyMatch(value -> value.toLowerCase().contains(directive));
+	}
+	
+	/**
+	 * CORS and cookie headers belong to the request that filled the cache, not to later ones
+	 */
+	private static HttpHeaders storedHeaders(final HttpHeaders headers) {
+		final HttpHeaders stored = new HttpHeaders();
+		headers.forEach((name, values) -> {
+			if (!name.regionMatches(true, 0, "Access-Control-", 0, "Access-Control-".length())
+					&& !name.equalsIgnoreCase(HttpHeaders.SET_COOKIE)
+					&& !name.equalsIgnoreCase(HttpHeaders.DATE)
+					&& !name.equalsIgnoreCase(CACHE_STATUS_HEADER))
+				stored.addAll(name, values);
+		});
+		return HttpHeaders.readOnlyHttpHeaders(stored);
+	}
+	
+	@Data
+	public static class Config {
+		
+		/**
+		 * Only clear the cache after writes, never serve or store responses
+		 */
+		private boolean invalidateOnly;
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,19 @@
+package com.selimhorri.app.filter.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import lombok.Value;
+
+/**
+ * A cached upstream response; {@code headers} are read-only and exclude per-request headers
+ */
+@Value
+public class CachedResponse {
+	
+	HttpStatus status;
+	HttpHeaders headers;
+	byte[] body;
+	String etag;
+	
+}
@@ -0,0 +1,99 @@
+package com.selimhorri.app.filter.cache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Memory-bounded TTL store of GET responses, keyed by path, query and whether the client accepts gzip
+ * (product-service compresses its JSON, so both variants are kept apart).
+ * 
+ * Published as {@code cache.*} meters tagged {@code cache=gateway.responses}.
+ */
+@Component
+public class ResponseCache {
+	
+	private final ResponseCacheProperties properties;
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+	private final Cache<String, CachedResponse> responses;
+	
+	public ResponseCache(final ResponseCacheProperties properties, final MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.responses = Caffeine.newBuilder()
+				.expireAfterWrite(properties.getTtl())
+				.maximumWeight(properties.getMaxMemory().toBytes())
+				.<String, CachedResponse>weigher((key, response) -> key.length() + response.getBody().length)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.responses, "gateway.responses");
+	}
+	
+	public boolean isCacheable(final ServerHttpRequest request) {
+		return this.matchesAny(this.properties.getPaths(), request)
+				&& !this.matchesAny(this.properties.getExcludedPaths(), request);
+	}
+	
+	public boolean isInvalidatedBy(final ServerHttpRequest request) {
+		return this.matchesAny(this.properties.getInvalidatePaths(), request);
+	}
+	
+	public boolean isLookup(final ServerHttpRequest request) {
+		return this.matchesAny(this.properties.getLookupPaths(), request);
+	}
+	
+	private boolean matchesAny(final List<String> patterns, final ServerHttpRequest request) {
+		final String path = request.getPath().pathWithinApplication().value();
+		return patterns.stream().anyMatch(pattern -> this.pathMatcher.match(pattern, path));
+	}
+	
+	public boolean fits(final long size) {
+		return size <= this.properties.getMaxEntrySize().toBytes();
+	}
+	
+	public String keyOf(final ServerHttpRequest request) {
+		final String acceptEncoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+		final boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+		return (gzip ? "gzip:" : "identity:") + request.getURI().getRawPath()
+				+ (request.getURI().getRawQuery() == null ? "" : "?" + request.getURI().getRawQuery());
+	}
+	
+	public CachedResponse get(final String key) {
+		return this.responses.getIfPresent(key);
+	}
+	
+	public void put(final String key, final CachedResponse response) {
+		this.responses.put(key, response);
+	}
+	
+	public void invalidateAll() {
+		this.responses.invalidateAll();
+	}
+	
+	/**
+	 * Strong ETag derived from the body, used when the upstream did not send one
+	 */
+	public static String etagOf(final byte[] body) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+			return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+	
+}
@@ -0,0 +1,40 @@
+package com.selimhorri.app.filter.limit;
+
+import java.net.InetSocketAddress;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.app.config.limit.RateLimitProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Identifies the client for {@link LocalRateLimiter} by IP address, honouring only as many
+ * X-Forwarded-For hops as {@code rate-limit.trusted-proxies} allows
+ */
+@Component
+public class ClientAddressKeyResolver implements KeyResolver {
+	
+	private final RemoteAddressResolver addressResolver;
+	
+	public ClientAddressKeyResolver(final RateLimitProperties properties) {
+		this.addressResolver = properties.getTrustedProxies() > 0 
+				? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxies())
+				: new RemoteAddressResolver() {};
+	}
+	
+	@Override
+	public Mono<String> resolve(final ServerWebExchange exchange) {
+		final InetSocketAddress address = this.addressResolver.resolve(exchange);
+		if (address == null)
+			return Mono.empty();
+		return Mono.just(address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString());
+	}
+	
+	
+	
+}
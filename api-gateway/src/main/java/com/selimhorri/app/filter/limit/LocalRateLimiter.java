@@ -0,0 +1,92 @@
+package com.selimhorri.app.filter.limit;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.limit.RateLimitProperties;
+import com.selimhorri.app.config.limit.RateLimitProperties.Limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory {@link RateLimiter} behind the stock {@code RequestRateLimiter} filter, so no Redis is needed.
+ * Each gateway instance keeps its own buckets, so with N replicas a client may get up to N times the
+ * configured rate.
+ * 
+ * Publishes {@code gateway.rate-limit.requests{route,outcome}} and {@code gateway.rate-limit.buckets}.
+ */
+@Component
+public class LocalRateLimiter implements RateLimiter<Limit> {
+	
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+	public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+	
+	private final RateLimitProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final LongSupplier clock;
+	private final Cache<String, TokenBucket> buckets;
+	
+	@Autowired
+	public LocalRateLimiter(final RateLimitProperties properties, final MeterRegistry meterRegistry) {
+		this(properties, meterRegistry, System::nanoTime);
+	}
+	
+	public LocalRateLimiter(final RateLimitProperties properties, final MeterRegistry meterRegistry,
+			final LongSupplier clock) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.clock = clock;
+		this.buckets = Caffeine.newBuilder()
+				.expireAfterAccess(properties.getIdleExpiry())
+				.maximumSize(properties.getMaxTrackedClients())
+				.build();
+		Gauge.builder("gateway.rate-limit.buckets", this.buckets, Cache::estimatedSize)
+				.description("Token buckets currently tracked")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public Mono<Response> isAllowed(final String routeId, final String id) {
+		final Limit limit = this.properties.limitFor(routeId);
+		final long now = this.clock.getAsLong();
+		final TokenBucket bucket = this.buckets.get(routeId + ":" + id,
+				key -> new TokenBucket(limit.getBurstCapacity(), limit.getReplenishRate(), now));
+		final long remaining = bucket.tryTake(now);
+		final boolean allowed = remaining >= 0;
+		Counter.builder("gateway.rate-limit.requests")
+				.tag("route", routeId)
+				.tag("outcome", allowed ? "allowed" : "limited")
+				.register(this.meterRegistry)
+				.increment();
+		return Mono.just(new Response(allowed, Map.of(
+				REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+				REPLENISH_RATE_HEADER, String.valueOf(limit.getReplenishRate()),
+				BURST_CAPACITY_HEADER, String.valueOf(limit.getBurstCapacity()))));
+	}
+	
+	@Override
+	public Map<String, Limit> getConfig() {
+		return this.properties.getRoutes();
+	}
+	
+	@Override
+	public Class<Limit> getConfigClass() {
+		return Limit.class;
+	}
+	
+	@Override
+	public Limit newConfig() {
+		return new Limit();
+	}
+	
+}
@@ -0,0 +1,9 @@
+package com.selimhorri.app.filter.limit;
+
+public enum RoutePriority {
+	
+	LOW,
+	NORMAL,
+	HIGH;
+	
+}
@@ -0,0 +1,36 @@
+package com.selimhorri.app.filter.limit;
+
+/**
+ * Classic token bucket refilled lazily from {@link System#nanoTime()} on every take
+ */
+public class TokenBucket {
+	
+	private static final double NANOS_PER_SECOND = 1_000_000_000d;
+	
+	private final int capacity;
+	private final double tokensPerNano;
+	private double tokens;
+	private long refilledAt;
+	
+	public TokenBucket(final int capacity, final int tokensPerSecond, final long now) {
+		this.capacity = capacity;
+		this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+		this.tokens = capacity;
+		this.refilledAt = now;
+	}
+	
+	/**
+	 * @return tokens left after taking one, or -1 when the bucket was empty
+	 */
+	public synchronized long tryTake(final long now) {
+		if (now > this.refilledAt) {
+			this.tokens = Math.min(this.capacity, this.tokens + (now - this.refilledAt) * this.tokensPerNano);
+			this.refilledAt = now;
+		}
+		if (this.tokens < 1)
+			return -1;
+		this.tokens -= 1;
+		return (long) this.tokens;
+	}
+	
+}
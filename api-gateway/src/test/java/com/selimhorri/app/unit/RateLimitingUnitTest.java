@@ -0,0 +1,111 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.config.limit.LoadSheddingProperties;
+import com.selimhorri.app.config.limit.RateLimitProperties;
+import com.selimhorri.app.filter.LoadSheddingGlobalFilter;
+import com.selimhorri.app.filter.limit.LocalRateLimiter;
+import com.selimhorri.app.filter.limit.RoutePriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+public class RateLimitingUnitTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testBucketAllowsBurstThenRefillsPerClientAndRoute() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Limit orders = new RateLimitProperties.Limit();
+        orders.setReplenishRate(2);
+        orders.setBurstCapacity(3);
+        properties.setRoutes(Map.of("ORDER-SERVICE", orders));
+        AtomicLong now = new AtomicLong();
+        LocalRateLimiter limiter = new LocalRateLimiter(properties, this.meterRegistry, now::get);
+
+        for (int i = 0; i < 3; i++)
+            assertTrue(limiter.isAllowed("ORDER-SERVICE", "10.0.0.1").block().isAllowed());
+        assertFalse(limiter.isAllowed("ORDER-SERVICE", "10.0.0.1").block().isAllowed());
+        // other clients and other routes have their own buckets
+        assertTrue(limiter.isAllowed("ORDER-SERVICE", "10.0.0.2").block().isAllowed());
+        assertTrue(limiter.isAllowed("PRODUCT-SERVICE", "10.0.0.1").block().isAllowed());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(limiter.isAllowed("ORDER-SERVICE", "10.0.0.1").block().isAllowed());
+        assertFalse(limiter.isAllowed("ORDER-SERVICE", "10.0.0.1").block().isAllowed());
+
+        assertEquals(2, this.meterRegistry.get("gateway.rate-limit.requests")
+                .tag("route", "ORDER-SERVICE").tag("outcome", "limited").counter().count());
+    }
+
+    @Test
+    void testLowPriorityRoutesAreShedFirst() {
+        LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setMaxInFlight(10);
+        properties.setRoutes(Map.of("ORDER-SERVICE", RoutePriority.HIGH, "FAVOURITE-SERVICE", RoutePriority.LOW));
+        LoadSheddingGlobalFilter filter = new LoadSheddingGlobalFilter(properties, this.meterRegistry);
+
+        // park 6 requests upstream: at the LOW threshold, below NORMAL and HIGH
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        for (int i = 0; i < 6; i++)
+            filter.filter(exchange("ORDER-SERVICE"), exchange -> upstream.asMono()).subscribe();
+        assertEquals(6, filter.getInFlight());
+
+        MockServerWebExchange favourites = exchange("FAVOURITE-SERVICE");
+        filter.filter(favourites, exchange -> Mono.empty()).block();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, favourites.getResponse().getStatusCode());
+
+        MockServerWebExchange orders = exchange("ORDER-SERVICE");
+        filter.filter(orders, exchange -> Mono.empty()).block();
+        assertNull(orders.getResponse().getStatusCode());
+
+        upstream.tryEmitEmpty();
+        assertEquals(0, filter.getInFlight());
+    }
+
+    @Test
+    void testFrontendTrafficIsPrioritisedByPath() {
+        LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setMaxInFlight(10);
+        properties.setPaths(Map.of("/app/api/orders/**", RoutePriority.HIGH, "/app/api/favourites/**", RoutePriority.LOW));
+        LoadSheddingGlobalFilter filter = new LoadSheddingGlobalFilter(properties, this.meterRegistry);
+
+        // park 9 requests upstream: past LOW and NORMAL, below HIGH
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        for (int i = 0; i < 9; i++)
+            filter.filter(exchange("PROXY-CLIENT", "/app/api/orders/" + i), exchange -> upstream.asMono()).subscribe();
+
+        MockServerWebExchange products = exchange("PROXY-CLIENT", "/app/api/products");
+        filter.filter(products, exchange -> Mono.empty()).block();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, products.getResponse().getStatusCode());
+
+        MockServerWebExchange checkout = exchange("PROXY-CLIENT", "/app/api/orders");
+        filter.filter(checkout, exchange -> Mono.empty()).block();
+        assertNull(checkout.getResponse().getStatusCode());
+        assertEquals(RoutePriority.LOW, properties.priorityOf("PROXY-CLIENT", "/app/api/favourites/1"));
+
+        upstream.tryEmitEmpty();
+        assertEquals(0, filter.getInFlight());
+    }
+
+    private static MockServerWebExchange exchange(final String routeId) {
+        return exchange(routeId, "/");
+    }
+
+    private static MockServerWebExchange exchange(final String routeId, final String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async().id(routeId).uri("lb://" + routeId)
+                .predicate(e -> true).build());
+        return exchange;
+    }
+}
@@ -0,0 +1,146 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.config.cache.ResponseCacheProperties;
+import com.selimhorri.app.filter.ResponseCacheGatewayFilterFactory;
+import com.selimhorri.app.filter.cache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCacheGatewayFilterUnitTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private GatewayFilter filter;
+    private GatewayFilter invalidateOnlyFilter;
+
+    // stands in for the routing filters: answers like product-service would
+    private final GatewayFilterChain upstream = exchange -> {
+        this.upstreamCalls.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            response.setStatusCode(HttpStatus.OK);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (exchange.getRequest().getPath().value().endsWith("/large")) {
+            response.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+            return response.writeWith(Flux.range(0, 4).map(i -> (DataBuffer) response.bufferFactory()
+                    .wrap(("{\"productId\":" + i + "}\n").getBytes(StandardCharsets.UTF_8))));
+        }
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory()
+                .wrap("{\"productId\":1}".getBytes(StandardCharsets.UTF_8))));
+    };
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxEntrySize(DataSize.ofBytes(32));
+        ResponseCache cache = new ResponseCache(properties, new SimpleMeterRegistry());
+        ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(cache);
+        this.filter = factory.apply(new ResponseCacheGatewayFilterFactory.Config());
+        ResponseCacheGatewayFilterFactory.Config invalidateOnly = new ResponseCacheGatewayFilterFactory.Config();
+        invalidateOnly.setInvalidateOnly(true);
+        this.invalidateOnlyFilter = factory.apply(invalidateOnly);
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        this.filter.filter(exchange, this.upstream).block();
+        return exchange;
+    }
+
+    private MockServerWebExchange proxyExchange(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        this.invalidateOnlyFilter.filter(exchange, this.upstream).block();
+        return exchange;
+    }
+
+    @Test
+    void testSecondGetIsServedFromCacheWithEtag() {
+        MockServerWebExchange miss = exchange(MockServerHttpRequest.get("/product-service/api/products/1").build());
+        MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/product-service/api/products/1").build());
+        assertEquals(1, this.upstreamCalls.get());
+        assertEquals("MISS", miss.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("HIT", hit.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("{\"productId\":1}", hit.getResponse().getBodyAsString().block());
+        assertEquals(miss.getResponse().getHeaders().getETag(), hit.getResponse().getHeaders().getETag());
+
+        MockServerWebExchange revalidated = exchange(MockServerHttpRequest.get("/product-service/api/products/1")
+                .header(HttpHeaders.IF_NONE_MATCH, hit.getResponse().getHeaders().getETag()).build());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+        assertEquals(1, this.upstreamCalls.get());
+    }
+
+    @Test
+    void testBodyOverEntrySizeIsPassedThroughWithoutCaching() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/product-service/api/products/large").build());
+        exchange(MockServerHttpRequest.get("/product-service/api/products/large").build());
+        assertEquals(2, this.upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals("{\"productId\":0}\n{\"productId\":1}\n{\"productId\":2}\n{\"productId\":3}\n",
+                first.getResponse().getBodyAsString().block());
+        assertEquals(-1, first.getResponse().getHeaders().getContentLength());
+    }
+
+    @Test
+    void testStreamIsNotCached() {
+        exchange(MockServerHttpRequest.get("/product-service/api/products/stream").build());
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/product-service/api/products/stream").build());
+        assertEquals(2, this.upstreamCalls.get());
+        assertNull(second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    void testBatchLookupDoesNotClearCache() {
+        exchange(MockServerHttpRequest.get("/product-service/api/products/1").build());
+        exchange(MockServerHttpRequest.post("/product-service/api/products/batch").build());
+        MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/product-service/api/products/1").build());
+        assertEquals(2, this.upstreamCalls.get());
+        assertEquals("HIT", hit.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    void testFrontendWriteThroughProxyRouteClearsCache() {
+        exchange(MockServerHttpRequest.get("/product-service/api/products/1").build());
+        // reads on the proxy route are neither served from nor stored in the cache
+        proxyExchange(MockServerHttpRequest.get("/app/api/products/1").build());
+        proxyExchange(MockServerHttpRequest.get("/app/api/products/1").build());
+        assertEquals(3, this.upstreamCalls.get());
+        MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/product-service/api/products/1").build());
+        assertEquals("HIT", hit.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+
+        proxyExchange(MockServerHttpRequest.put("/app/api/products/1").build());
+        MockServerWebExchange miss = exchange(MockServerHttpRequest.get("/product-service/api/products/1").build());
+        assertEquals("MISS", miss.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+        assertEquals(5, this.upstreamCalls.get());
+    }
+
+    @Test
+    void testWriteClearsCacheAndOtherPathsAreNotCached() {
+        exchange(MockServerHttpRequest.get("/product-service/api/products").build());
+        exchange(MockServerHttpRequest.put("/product-service/api/products").build());
+        exchange(MockServerHttpRequest.get("/product-service/api/products").build());
+        assertEquals(3, this.upstreamCalls.get());
+
+        exchange(MockServerHttpRequest.get("/product-service/actuator/health").build());
+        exchange(MockServerHttpRequest.get("/product-service/actuator/health").build());
+        assertEquals(5, this.upstreamCalls.get());
+    }
+}
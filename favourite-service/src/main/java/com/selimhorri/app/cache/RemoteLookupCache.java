@@ -0,0 +1,123 @@
+package com.selimhorri.app.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.batch.BatchLoader;
+import com.selimhorri.app.coalesce.RequestCoalescer;
+import com.selimhorri.app.config.cache.LookupCacheProperties;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caffeine-backed TTL cache in front of the USER-SERVICE and PRODUCT-SERVICE lookups.
+ * 
+ * Hit, miss and eviction counts are published as {@code cache.*} meters tagged
+ * {@code cache=favourite.users} and {@code cache=favourite.products}.
+ */
+@Component
+@Slf4j
+public class RemoteLookupCache {
+	
+	private final RestTemplate restTemplate;
+	private final RequestCoalescer requestCoalescer;
+	private final BatchLoader<UserDto> userBatchLoader;
+	private final BatchLoader<ProductDto> productBatchLoader;
+	private final Cache<Integer, UserDto> users;
+	private final Cache<Integer, ProductDto> products;
+	
+	public RemoteLookupCache(final RestTemplate restTemplate, final RequestCoalescer requestCoalescer,
+			final BatchLoader<UserDto> userBatchLoader, final BatchLoader<ProductDto> productBatchLoader,
+			final LookupCacheProperties properties, final MeterRegistry meterRegistry) {
+		this.restTemplate = restTemplate;
+		this.requestCoalescer = requestCoalescer;
+		this.userBatchLoader = userBatchLoader;
+		this.productBatchLoader = productBatchLoader;
+		this.users = Caffeine.newBuilder()
+				.expireAfterWrite(properties.getTtl())
+				.maximumSize(properties.getMaxSize())
+				.recordStats()
+				.build();
+		this.products = Caffeine.newBuilder()
+				.expireAfterWrite(properties.getTtl())
+				.maximumSize(properties.getMaxSize())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.users, "favourite.users");
+		CaffeineCacheMetrics.monitor(meterRegistry, this.products, "favourite.products");
+	}
+	
+	public UserDto getUser(final Integer userId) {
+		return this.getOrLoad(this.users, "users", userId, AppConstant.DiscoveredDomainsApi
+				.USER_SERVICE_API_URL + "/" + userId, UserDto.class);
+	}
+	
+	public ProductDto getProduct(final Integer productId) {
+		return this.getOrLoad(this.products, "products", productId, AppConstant.DiscoveredDomainsApi
+				.PRODUCT_SERVICE_API_URL + "/" + productId, ProductDto.class);
+	}
+	
+	/**
+	 * Cached users first, the rest through the USER-SERVICE batch endpoint; unresolved ids are absent
+	 */
+	public CompletableFuture<Map<Integer, UserDto>> getUsers(final Collection<Integer> userIds) {
+		return this.getAllOrLoad(this.users, this.userBatchLoader, userIds);
+	}
+	
+	public CompletableFuture<Map<Integer, ProductDto>> getProducts(final Collection<Integer> productIds) {
+		return this.getAllOrLoad(this.products, this.productBatchLoader, productIds);
+	}
+	
+	private <T> CompletableFuture<Map<Integer, T>> getAllOrLoad(final Cache<Integer, T> cache,
+			final BatchLoader<T> batchLoader, final Collection<Integer> ids) {
+		final Map<Integer, T> cached = cache.getAllPresent(ids.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet()));
+		final List<Integer> missing = ids.stream()
+				.filter(id -> id != null && !cached.containsKey(id))
+				.distinct()
+				.collect(Collectors.toList());
+		if (missing.isEmpty())
+			return CompletableFuture.completedFuture(cached);
+		return batchLoader.loadMany(missing).thenApply(loaded -> {
+			cache.putAll(loaded);
+			final Map<Integer, T> all = new HashMap<>(cached);
+			all.putAll(loaded);
+			return all;
+		});
+	}
+	
+	/**
+	 * Misses are coalesced rather than loaded inside the cache's compute, so the remote call does not
+	 * hold a map lock and a burst of misses on a hot id makes a single call
+	 */
+	private <T> T getOrLoad(final Cache<Integer, T> cache, final String lookup, final Integer id,
+			final String url, final Class<T> type) {
+		final T cached = cache.getIfPresent(id);
+		if (cached != null)
+			return cached;
+		return this.requestCoalescer.get(lookup, id, () -> {
+			log.debug("{} cache miss for id {}", lookup, id);
+			final T loaded = this.restTemplate.getForObject(url, type);
+			if (loaded != null)
+				cache.put(id, loaded);
+			return loaded;
+		});
+	}
+	
+}
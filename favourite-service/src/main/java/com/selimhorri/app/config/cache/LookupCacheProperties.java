@@ -0,0 +1,28 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Tuning for the cross-service lookup cache (see {@code lookup-cache.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "lookup-cache")
+@Data
+public class LookupCacheProperties {
+	
+	/**
+	 * How long a resolved user or product is served from memory
+	 */
+	private Duration ttl = Duration.ofMinutes(5);
+	
+	/**
+	 * Maximum number of entries kept per cache
+	 */
+	private long maxSize = 10_000;
+	
+}
@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.coalesce;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Tuning for {@code RequestCoalescer} (see {@code request-coalescing.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "request-coalescing")
+@Data
+public class CoalescingProperties {
+	
+	/**
+	 * When false every caller makes its own downstream call
+	 */
+	private boolean enabled = true;
+	
+	/**
+	 * How long a caller waits on a lookup started by another caller; the caller that started it
+	 * is bounded by the RestTemplate timeouts instead
+	 */
+	private Duration timeout = Duration.ofSeconds(5);
+	
+}
@@ -1,6 +1,13 @@
 package com.selimhorri.app.dto.response.collection;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +22,43 @@ public class DtoCollectionResponse<T> {
 	
 	private Collection<T> collection;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Integer page;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer size;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Boolean hasNext;
+	
+	@JsonInclude(Include.NON_NULL)
+	private String nextCursor;
+	
+	public DtoCollectionResponse(final Collection<T> collection) {
+		this.collection = collection;
+	}
+	
+	public static <T> DtoCollectionResponse<T> of(final Slice<T> slice) {
+		return DtoCollectionResponse.<T>builder()
+				.collection(slice.getContent())
+				.page(slice.getNumber())
+				.size(slice.getSize())
+				.hasNext(slice.hasNext())
+				.build();
+	}
+	
+	public static <T> DtoCollectionResponse<T> of(final Slice<T> slice, final Function<T, ?> cursor) {
+		final List<T> content = slice.getContent();
+		return DtoCollectionResponse.<T>builder()
+				.collection(content)
+				.size(slice.getSize())
+				.hasNext(slice.hasNext())
+				.nextCursor(slice.hasNext() && !content.isEmpty() 
+						? String.valueOf(cursor.apply(content.get(content.size() - 1))) 
+						: null)
+				.build();
+	}
+	
 }
 
 
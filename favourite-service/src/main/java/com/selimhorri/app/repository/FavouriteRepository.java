@@ -1,5 +1,7 @@
 package com.selimhorri.app.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Favourite;
@@ -7,6 +9,6 @@ import com.selimhorri.app.domain.id.FavouriteId;
 
 public interface FavouriteRepository extends JpaRepository<Favourite, FavouriteId> {
 	
-	
+	Slice<Favourite> findAllBy(final Pageable pageable);
 	
 }
@@ -14,12 +14,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.FavouriteService;
 
 import lombok.RequiredArgsConstructor;
@@ -39,6 +41,15 @@ public class FavouriteResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** FavouriteDto Slice, controller; fetch favourites page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.favouriteService
+				.findAll(PageRequestHelper.pageOf(page, size, "userId", "productId", "likeDate"))));
+	}
+	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<FavouriteDto> findById(
 			@PathVariable("userId") final String userId, 
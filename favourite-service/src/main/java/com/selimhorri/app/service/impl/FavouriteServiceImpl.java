@@ -1,14 +1,17 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.cache.RemoteLookupCache;
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
@@ -28,25 +31,28 @@ import lombok.extern.slf4j.Slf4j;
 public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
-	private final RestTemplate restTemplate;
+	private final RemoteLookupCache remoteLookupCache;
 	
 	@Override
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		final List<FavouriteDto> favouriteDtos = this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toList());
+		this.attachUsersAndProducts(favouriteDtos);
+		return favouriteDtos.stream()
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Slice<FavouriteDto> findAll(final Pageable pageable) {
+		log.info("*** FavouriteDto Slice, service; fetch favourites page *");
+		final Slice<FavouriteDto> favouriteDtos = this.favouriteRepository.findAllBy(pageable)
+				.map(FavouriteMappingHelper::map);
+		this.attachUsersAndProducts(favouriteDtos.getContent());
+		return favouriteDtos;
 	}
 	
 	@Override
@@ -55,12 +61,8 @@ public class FavouriteServiceImpl implements FavouriteService {
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
 				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
+					f.setUserDto(this.remoteLookupCache.getUser(f.getUserId()));
+					f.setProductDto(this.remoteLookupCache.getProduct(f.getProductId()));
 					return f;
 				})
 				.orElseThrow(() -> new FavouriteNotFoundException(
@@ -84,6 +86,23 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	/**
+	 * Ids missing from the cache are resolved in batch calls, users and products in parallel; 
+	 * rows whose user or product cannot be resolved keep their placeholders
+	 */
+	private void attachUsersAndProducts(final List<FavouriteDto> favouriteDtos) {
+		final CompletableFuture<Map<Integer, UserDto>> userDtos = this.remoteLookupCache.getUsers(
+				favouriteDtos.stream().map(FavouriteDto::getUserId).collect(Collectors.toList()));
+		final CompletableFuture<Map<Integer, ProductDto>> productDtos = this.remoteLookupCache.getProducts(
+				favouriteDtos.stream().map(FavouriteDto::getProductId).collect(Collectors.toList()));
+		CompletableFuture.allOf(userDtos, productDtos).join();
+		
+		favouriteDtos.forEach(f -> {
+			f.setUserDto(userDtos.join().getOrDefault(f.getUserId(), f.getUserDto()));
+			f.setProductDto(productDtos.join().getOrDefault(f.getProductId(), f.getProductDto()));
+		});
+	}
+	
 	
 	
 }
@@ -1,19 +1,56 @@
 package com.selimhorri.app.unit;
 
+import com.selimhorri.app.cache.RemoteLookupCache;
+import com.selimhorri.app.config.batch.BatchLoaderConfig;
+import com.selimhorri.app.config.batch.BatchLoaderProperties;
+import com.selimhorri.app.coalesce.RequestCoalescer;
+import com.selimhorri.app.config.cache.LookupCacheProperties;
+import com.selimhorri.app.config.coalesce.CoalescingProperties;
 import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.service.impl.FavouriteServiceImpl;
 import com.selimhorri.app.repository.FavouriteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.Mockito;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import com.selimhorri.app.domain.id.FavouriteId;
 
 class FavouriteUnitTests {
 
+    private BatchLoaderConfig batchLoaderConfig;
+
+    @BeforeEach
+    void setUp() {
+        this.batchLoaderConfig = new BatchLoaderConfig(new BatchLoaderProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.batchLoaderConfig.shutdown();
+    }
+
+    private RemoteLookupCache lookupCache(RestTemplate restTemplate) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        return new RemoteLookupCache(restTemplate, new RequestCoalescer(new CoalescingProperties(), registry),
+                this.batchLoaderConfig.userBatchLoader(restTemplate, registry),
+                this.batchLoaderConfig.productBatchLoader(restTemplate, registry),
+                new LookupCacheProperties(), registry);
+    }
+
     @Test
     void testMapFavouriteToDto() {
         Favourite favourite = Favourite.builder().userId(1).productId(2).likeDate(LocalDateTime.now()).build();
@@ -36,7 +73,7 @@ class FavouriteUnitTests {
     void testSaveCallsRepository() {
         FavouriteRepository repo = Mockito.mock(FavouriteRepository.class);
         RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
-        FavouriteServiceImpl service = new FavouriteServiceImpl(repo, restTemplate);
+        FavouriteServiceImpl service = new FavouriteServiceImpl(repo, lookupCache(restTemplate));
         FavouriteDto dto = FavouriteDto.builder().userId(1).productId(2).likeDate(LocalDateTime.now()).build();
         Favourite entity = FavouriteMappingHelper.map(dto);
         Mockito.when(repo.save(Mockito.any())).thenReturn(entity);
@@ -48,7 +85,7 @@ class FavouriteUnitTests {
     void testUpdateCallsRepository() {
         FavouriteRepository repo = Mockito.mock(FavouriteRepository.class);
         RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
-        FavouriteServiceImpl service = new FavouriteServiceImpl(repo, restTemplate);
+        FavouriteServiceImpl service = new FavouriteServiceImpl(repo, lookupCache(restTemplate));
         FavouriteDto dto = FavouriteDto.builder().userId(1).productId(2).likeDate(LocalDateTime.now()).build();
         Favourite entity = FavouriteMappingHelper.map(dto);
         Mockito.when(repo.save(Mockito.any())).thenReturn(entity);
@@ -60,9 +97,44 @@ class FavouriteUnitTests {
     void testDeleteByIdCallsRepository() {
         FavouriteRepository repo = Mockito.mock(FavouriteRepository.class);
         RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
-        FavouriteServiceImpl service = new FavouriteServiceImpl(repo, restTemplate);
+        FavouriteServiceImpl service = new FavouriteServiceImpl(repo, lookupCache(restTemplate));
         FavouriteId id = new FavouriteId(1, 2, LocalDateTime.now());
         service.deleteById(id);
         Mockito.verify(repo).deleteById(id);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindAllResolvesEachUserAndProductOnce() {
+        FavouriteRepository repo = Mockito.mock(FavouriteRepository.class);
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        FavouriteServiceImpl service = new FavouriteServiceImpl(repo, lookupCache(restTemplate));
+        LocalDateTime now = LocalDateTime.now();
+        Mockito.when(repo.findAll()).thenReturn(List.of(
+                Favourite.builder().userId(1).productId(2).likeDate(now).build(),
+                Favourite.builder().userId(1).productId(3).likeDate(now).build(),
+                Favourite.builder().userId(4).productId(2).likeDate(now).build()));
+        Mockito.when(restTemplate.exchange(Mockito.contains("/api/users/batch"), Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class), Mockito.any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Map.of(1, UserDto.builder().userId(1).firstName("A").build())));
+        Mockito.when(restTemplate.exchange(Mockito.contains("/api/products/batch"), Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class), Mockito.any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Map.of(2, ProductDto.builder().productId(2).productTitle("P").build())));
+        List<FavouriteDto> result = service.findAll();
+        assertEquals(3, result.size());
+        assertEquals("A", result.get(1).getUserDto().getFirstName());
+        assertEquals("P", result.get(2).getProductDto().getProductTitle());
+        // unresolved user keeps its placeholder
+        assertEquals(4, result.get(2).getUserDto().getUserId());
+        Mockito.verify(restTemplate, Mockito.times(2)).exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class), Mockito.any(ParameterizedTypeReference.class));
+        Mockito.verify(restTemplate, Mockito.never()).getForObject(Mockito.anyString(), Mockito.any(Class.class));
+
+        // resolved ids come from the cache now, only user 4 and product 3 are asked for again
+        service.findAll();
+        Mockito.verify(restTemplate, Mockito.times(1)).exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+                Mockito.eq(new HttpEntity<>(List.of(4))), Mockito.any(ParameterizedTypeReference.class));
+        Mockito.verify(restTemplate, Mockito.times(1)).exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+                Mockito.eq(new HttpEntity<>(List.of(3))), Mockito.any(ParameterizedTypeReference.class));
+    }
+}
@@ -0,0 +1,42 @@
+#!/usr/bin/env python3
+"""
+Compara dos reportes _stats.csv de Locust (modo bloqueante vs. no bloqueante de proxy-client)
+e imprime, por endpoint, throughput, latencias y tasa de errores de cada modo.
+"""
+
+import csv
+import sys
+
+COLUMNS = [
+    ('Requests/s', 'req/s'),
+    ('Median Response Time', 'p50 ms'),
+    ('95%', 'p95 ms'),
+    ('99%', 'p99 ms'),
+]
+
+def read_rows(filepath):
+    with open(filepath, 'r') as f:
+        return {row['Name']: row for row in csv.DictReader(f)}
+
+def error_rate(row):
+    requests = float(row.get('Request Count', 0) or 0)
+    failures = float(row.get('Failure Count', 0) or 0)
+    return 100.0 * failures / requests if requests else 0.0
+
+def main(blocking_file, reactive_file):
+    blocking = read_rows(blocking_file)
+    reactive = read_rows(reactive_file)
+    print(f"{'Endpoint':<28}{'Métrica':<10}{'blocking':>12}{'reactive':>12}{'cambio':>10}")
+    for name in [n for n in blocking if n in reactive]:
+        for column, label in COLUMNS:
+            before = float(blocking[name].get(column, 0) or 0)
+            after = float(reactive[name].get(column, 0) or 0)
+            change = f"{(after - before) / before * 100:+.1f}%" if before else "n/a"
+            print(f"{name:<28}{label:<10}{before:>12.1f}{after:>12.1f}{change:>10}")
+        print(f"{name:<28}{'errores %':<10}{error_rate(blocking[name]):>12.2f}{error_rate(reactive[name]):>12.2f}")
+
+if __name__ == '__main__':
+    if len(sys.argv) != 3:
+        print("Uso: compare_proxy_reports.py <blocking_stats.csv> <reactive_stats.csv>")
+        sys.exit(1)
+    main(sys.argv[1], sys.argv[2])
@@ -0,0 +1,32 @@
+from locust import HttpUser, task, between
+import os
+
+# Credenciales de un usuario existente en USER-SERVICE
+USERNAME = os.environ.get("PROXY_USERNAME", "selimhorri")
+PASSWORD = os.environ.get("PROXY_PASSWORD", "0000")
+
+class ProxyPassthroughLoadTest(HttpUser):
+    """Carga sobre los controladores pass-through de proxy-client (ordenes y favoritos).
+
+    Se ejecuta dos veces contra la misma instancia: una con reactive.orders/favourites=false
+    (Feign, bloqueante) y otra con =true (WebClient, no bloqueante). Ver run_proxy_comparison.sh.
+    """
+    wait_time = between(0.1, 0.5)
+
+    def on_start(self):
+        response = self.client.post("/app/api/authenticate",
+                                    json={"username": USERNAME, "password": PASSWORD},
+                                    name="/app/api/authenticate")
+        self.headers = {"Authorization": f"Bearer {response.json().get('jwtToken', '')}"}
+
+    @task(5)
+    def get_orders(self):
+        self.client.get("/app/api/orders", headers=self.headers, name="/app/api/orders")
+
+    @task(2)
+    def get_order_by_id(self):
+        self.client.get("/app/api/orders/1", headers=self.headers, name="/app/api/orders/[id]")
+
+    @task(3)
+    def get_favourites(self):
+        self.client.get("/app/api/favourites", headers=self.headers, name="/app/api/favourites")
@@ -0,0 +1,29 @@
+#!/bin/bash
+# Compara el modo bloqueante (Feign) y el no bloqueante (WebClient) de proxy-client.
+#
+# Uso:
+#   1. Desplegar proxy-client con REACTIVE_ORDERS=false REACTIVE_FAVOURITES=false y ejecutar:
+#        ./run_proxy_comparison.sh blocking
+#   2. Redesplegar con REACTIVE_ORDERS=true REACTIVE_FAVOURITES=true y ejecutar:
+#        ./run_proxy_comparison.sh reactive
+#   3. Cuando existen ambos reportes se imprime la comparación (compare_proxy_reports.py).
+#
+# Para que la diferencia sea visible, limitar los hilos de Tomcat en ambas corridas,
+# por ejemplo SERVER_TOMCAT_THREADS_MAX=20, con más usuarios que hilos. Todos los usuarios inician
+# sesión con la misma cuenta: subir AUTHENTICATION_MAX_ATTEMPTS_PER_USERNAME (p. ej. 1000).
+
+MODE=${1:?"Indicar el modo: blocking | reactive"}
+PROXY_HOST=${PROXY_HOST:-"http://proxy-client:8900"}
+USERS=${USERS:-200}
+SPAWN_RATE=${SPAWN_RATE:-20}
+DURATION=${DURATION:-2m}
+
+mkdir -p reports
+
+echo "Probando proxy-client en modo $MODE..."
+python3 -m locust -f proxy_passthrough_locustfile.py --headless -u $USERS -r $SPAWN_RATE -t $DURATION \
+    --host $PROXY_HOST --csv=reports/proxy_$MODE --html=reports/proxy_$MODE.html || true
+
+if [ -f reports/proxy_blocking_stats.csv ] && [ -f reports/proxy_reactive_stats.csv ]; then
+    python3 compare_proxy_reports.py reports/proxy_blocking_stats.csv reports/proxy_reactive_stats.csv
+fi
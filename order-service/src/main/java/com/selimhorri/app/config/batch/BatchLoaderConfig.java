@@ -0,0 +1,106 @@
+package com.selimhorri.app.config.batch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.batch.BatchLoader;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.UserDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class BatchLoaderConfig {
+	
+	private final BatchLoaderProperties properties;
+	
+	/**
+	 * Pools shared by this service's loaders. They stay private to this class rather than being exposed
+	 * as beans, which would make Spring Boot back off its own {@code applicationTaskExecutor}.
+	 */
+	private final ScheduledExecutorService scheduler;
+	private final ExecutorService executor;
+	
+	public BatchLoaderConfig(final BatchLoaderProperties properties) {
+		this.properties = properties;
+		this.scheduler = scheduler();
+		this.executor = executor(properties);
+	}
+	
+	/**
+	 * Runs the max-delay timers only, which hand their batch to the executor
+	 */
+	private static ScheduledExecutorService scheduler() {
+		final ScheduledThreadPoolExecutor scheduler = (ScheduledThreadPoolExecutor) Executors
+				.newScheduledThreadPool(1, runnable -> {
+					final Thread thread = new Thread(runnable, "batch-loader-timer");
+					thread.setDaemon(true);
+					return thread;
+				});
+		// max-delay timers are cancelled whenever a batch fills up first
+		scheduler.setRemoveOnCancelPolicy(true);
+		return scheduler;
+	}
+	
+	private static ExecutorService executor(final BatchLoaderProperties properties) {
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				properties.getThreads(), 
+				properties.getThreads(), 
+				60L, TimeUnit.SECONDS, 
+				new ArrayBlockingQueue<>(properties.getQueueCapacity()), 
+				runnable -> {
+					final Thread thread = new Thread(runnable, "batch-loader-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, 
+				new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+	
+	/**
+	 * Loader running on this configuration's pools
+	 */
+	public <V> BatchLoader<V> batchLoader(final String name, final Function<List<Integer>, Map<Integer, V>> batchFunction, 
+			final MeterRegistry meterRegistry) {
+		return new BatchLoader<>(name, batchFunction, this.properties, this.scheduler, this.executor, meterRegistry);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.scheduler.shutdownNow();
+		this.executor.shutdownNow();
+	}
+	
+	@Bean
+	public BatchLoader<UserDto> userBatchLoader(final RestTemplate restTemplate, final MeterRegistry meterRegistry) {
+		return this.batchLoader("users", ids -> restTemplate.exchange(
+					AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/batch", 
+					HttpMethod.POST, 
+					new HttpEntity<>(ids), 
+					new ParameterizedTypeReference<Map<Integer, UserDto>>() {})
+				.getBody(), meterRegistry);
+	}
+	
+	
+	
+}
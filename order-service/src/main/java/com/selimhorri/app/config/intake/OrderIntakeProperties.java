@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.intake;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Tuning for the order intake outbox drain (see {@code order-intake.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "order-intake")
+@Data
+public class OrderIntakeProperties {
+	
+	/**
+	 * Whether this instance drains the outbox; enqueueing works regardless
+	 */
+	private boolean enabled = true;
+	
+	/**
+	 * Number of threads turning queued intakes into orders
+	 */
+	private int workerPoolSize = 4;
+	
+	/**
+	 * Maximum number of rows claimed per poll
+	 */
+	private int batchSize = 50;
+	
+	/**
+	 * Delay between two polls of the outbox
+	 */
+	private Duration pollInterval = Duration.ofMillis(500);
+	
+	/**
+	 * Attempts before an intake is parked as FAILED
+	 */
+	private int maxAttempts = 5;
+	
+	/**
+	 * A PROCESSING row older than this is assumed orphaned and goes back to PENDING
+	 */
+	private Duration staleAfter = Duration.ofMinutes(5);
+	
+}
@@ -12,6 +12,7 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -41,7 +42,9 @@ public final class Order extends AbstractMappedEntity implements Serializable {
 	private static final long serialVersionUID = 1L;
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "order_id_gen")
+	@TableGenerator(name = "order_id_gen", table = "id_generators", pkColumnName = "gen_name", valueColumnName = "gen_value", 
+			pkColumnValue = "order_id", initialValue = 1000, allocationSize = 50)
 	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
 	private Integer orderId;
 	
@@ -0,0 +1,77 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox row holding an order that was accepted but not yet persisted as an {@link Order}
+ */
+@Entity
+@Table(name = "order_intake")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class OrderIntake implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "intake_id", unique = true, nullable = false, updatable = false)
+	private String intakeId;
+	
+	@Lob
+	@Column(name = "payload", nullable = false, updatable = false)
+	private String payload;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false)
+	private OrderIntakeStatus status;
+	
+	@Column(name = "attempts", nullable = false)
+	private Integer attempts;
+	
+	@Column(name = "order_id")
+	private Integer orderId;
+	
+	@Column(name = "last_error")
+	private String lastError;
+	
+	@Column(name = "enqueued_at", nullable = false, updatable = false)
+	private LocalDateTime enqueuedAt;
+	
+	@Column(name = "claimed_at")
+	private LocalDateTime claimedAt;
+	
+	/**
+	 * Bumped by every write, including the bulk claim and release updates
+	 */
+	@Version
+	@Column(name = "version", nullable = false)
+	private Integer version;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An intake row claimed by this instance, pinned to the version the claim wrote; once the row 
+ * is released or re-claimed its version moves on and every write made through this claim misses
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderIntakeClaim implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String intakeId;
+	private Integer version;
+	
+}
+
+
+
+
+
+
+
+
+
+
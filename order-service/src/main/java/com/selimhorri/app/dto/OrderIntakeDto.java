@@ -0,0 +1,51 @@
+package com.selimhorri.app.dto;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.domain.OrderIntakeStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@JsonInclude(Include.NON_NULL)
+public class OrderIntakeDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String intakeId;
+	private OrderIntakeStatus status;
+	private Integer attempts;
+	private Integer orderId;
+	private String lastError;
+	
+	@JsonProperty("order")
+	private OrderDto orderDto;
+	
+	public static OrderIntakeDto completed(final OrderDto orderDto) {
+		return OrderIntakeDto.builder()
+				.status(OrderIntakeStatus.COMPLETED)
+				.orderId(orderDto.getOrderId())
+				.orderDto(orderDto)
+				.build();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
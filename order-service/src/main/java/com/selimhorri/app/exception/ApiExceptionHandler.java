@@ -45,6 +45,7 @@ public class ApiExceptionHandler {
 		CartNotFoundException.class,
 		OrderNotFoundException.class,
 		IllegalStateException.class,
+		IllegalArgumentException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
@@ -0,0 +1,45 @@
+package com.selimhorri.app.helper;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public interface BatchLookupHelper {
+	
+	int MAX_BATCH_SIZE = 500;
+	int IN_CLAUSE_CHUNK_SIZE = 100;
+	
+	public static List<Integer> distinctIds(final Collection<Integer> ids) {
+		final List<Integer> distinctIds = ids.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toList());
+		if (distinctIds.size() > MAX_BATCH_SIZE)
+			throw new IllegalArgumentException(String
+					.format("Batch lookup accepts at most %d ids", MAX_BATCH_SIZE));
+		return distinctIds;
+	}
+	
+	/**
+	 * Runs the query once per {@link #IN_CLAUSE_CHUNK_SIZE} ids, so the IN list stays short and, with
+	 * hibernate.query.in_clause_parameter_padding, maps onto a handful of cached statements; ids that
+	 * do not exist are simply absent from the result
+	 */
+	public static <T> Map<Integer, T> findAllInChunks(final Collection<Integer> ids, 
+			final Function<List<Integer>, ? extends Collection<T>> query, final Function<T, Integer> idOf) {
+		final List<Integer> distinctIds = distinctIds(ids);
+		final Map<Integer, T> found = new HashMap<>();
+		for (int i = 0; i < distinctIds.size(); i += IN_CLAUSE_CHUNK_SIZE)
+			query.apply(distinctIds.subList(i, Math.min(i + IN_CLAUSE_CHUNK_SIZE, distinctIds.size())))
+					.forEach(t -> found.putIfAbsent(idOf.apply(t), t));
+		return Collections.unmodifiableMap(found);
+	}
+	
+	
+	
+}
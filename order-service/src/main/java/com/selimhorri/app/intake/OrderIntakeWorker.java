@@ -0,0 +1,105 @@
+package com.selimhorri.app.intake;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.intake.OrderIntakeProperties;
+import com.selimhorri.app.dto.OrderIntakeClaim;
+import com.selimhorri.app.service.OrderIntakeService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the {@code order_intake} outbox on a bounded worker pool.
+ * 
+ * A single poller claims at most as many rows as the pool can take without queueing
+ * past its capacity, so claimed rows never wait behind a rejected submission. Each
+ * claimed row is processed in its own transaction; failures go back to PENDING until
+ * {@link OrderIntakeProperties#getMaxAttempts()} is reached.
+ */
+@Component
+@Slf4j
+public class OrderIntakeWorker {
+	
+	private final OrderIntakeService orderIntakeService;
+	private final OrderIntakeProperties properties;
+	private final ThreadPoolExecutor workers;
+	private final ScheduledExecutorService poller;
+	
+	public OrderIntakeWorker(final OrderIntakeService orderIntakeService, final OrderIntakeProperties properties) {
+		this.orderIntakeService = orderIntakeService;
+		this.properties = properties;
+		final AtomicInteger threadCount = new AtomicInteger();
+		this.workers = new ThreadPoolExecutor(
+				properties.getWorkerPoolSize(),
+				properties.getWorkerPoolSize(),
+				60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(properties.getBatchSize()),
+				runnable -> {
+					final Thread thread = new Thread(runnable, "order-intake-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.workers.allowCoreThreadTimeOut(true);
+		this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "order-intake-poller");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	@PostConstruct
+	public void start() {
+		if (!this.properties.isEnabled()) {
+			log.info("Order intake drain disabled on this instance");
+			return;
+		}
+		final long interval = this.properties.getPollInterval().toMillis();
+		this.poller.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+	}
+	
+	void poll() {
+		try {
+			final int capacity = this.workers.getQueue().remainingCapacity();
+			if (capacity == 0)
+				return;
+			final List<OrderIntakeClaim> claimed = this.orderIntakeService.claimNext(Math.min(capacity, this.properties.getBatchSize()));
+			claimed.forEach(claim -> this.workers.execute(() -> this.process(claim)));
+		}
+		catch (Exception e) {
+			// never let an exception cancel the scheduled poll
+			log.error("Order intake poll failed: {}", e.getMessage());
+		}
+	}
+	
+	private void process(final OrderIntakeClaim claim) {
+		try {
+			this.orderIntakeService.process(claim);
+		}
+		catch (ObjectOptimisticLockingFailureException e) {
+			// another worker re-claimed the row after our claim went stale; it owns the outcome now
+			log.warn("Order intake {} was re-claimed by another worker, dropping this attempt", claim.getIntakeId());
+		}
+		catch (Exception e) {
+			this.orderIntakeService.recordFailure(claim, e);
+		}
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.poller.shutdownNow();
+		this.workers.shutdown();
+	}
+	
+}
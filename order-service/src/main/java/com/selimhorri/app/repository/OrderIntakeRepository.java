@@ -0,0 +1,85 @@
+package com.selimhorri.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderIntake;
+import com.selimhorri.app.domain.OrderIntakeStatus;
+
+public interface OrderIntakeRepository extends JpaRepository<OrderIntake, String> {
+	
+	List<OrderIntake> findByStatusOrderByEnqueuedAtAsc(final OrderIntakeStatus status, final Pageable pageable);
+	
+	/**
+	 * Conditional PENDING -> PROCESSING transition of the version read by the caller; only one instance 
+	 * can win a given row, and the claim owns the row for as long as it holds {@code version + 1}
+	 */
+	@Modifying
+	@Query("UPDATE OrderIntake i SET i.status = :processing, i.claimedAt = :claimedAt, i.attempts = i.attempts + 1, "
+			+ "i.version = i.version + 1 WHERE i.intakeId = :intakeId AND i.version = :version AND i.status = :pending")
+	int claim(@Param("intakeId") final String intakeId, 
+			@Param("version") final Integer version, 
+			@Param("claimedAt") final LocalDateTime claimedAt, 
+			@Param("pending") final OrderIntakeStatus pending, 
+			@Param("processing") final OrderIntakeStatus processing);
+	
+	/**
+	 * Hands rows claimed by a worker that died mid-flight back to the queue, as long as they have attempts left
+	 */
+	@Modifying
+	@Query("UPDATE OrderIntake i SET i.status = :pending, i.version = i.version + 1 "
+			+ "WHERE i.status = :processing AND i.claimedAt < :claimedBefore AND i.attempts < :maxAttempts")
+	int releaseStale(@Param("claimedBefore") final LocalDateTime claimedBefore, 
+			@Param("maxAttempts") final int maxAttempts, 
+			@Param("pending") final OrderIntakeStatus pending, 
+			@Param("processing") final OrderIntakeStatus processing);
+	
+	/**
+	 * Parks stale rows that used up their attempts, so an order that keeps hanging or killing its worker 
+	 * is not re-queued forever
+	 */
+	@Modifying
+	@Query("UPDATE OrderIntake i SET i.status = :failed, i.lastError = :lastError, i.version = i.version + 1 "
+			+ "WHERE i.status = :processing AND i.claimedAt < :claimedBefore AND i.attempts >= :maxAttempts")
+	int failStale(@Param("claimedBefore") final LocalDateTime claimedBefore, 
+			@Param("maxAttempts") final int maxAttempts, 
+			@Param("lastError") final String lastError, 
+			@Param("processing") final OrderIntakeStatus processing, 
+			@Param("failed") final OrderIntakeStatus failed);
+	
+	/**
+	 * Puts a failed attempt back to the queue, but only while the row still belongs to the claim that made it 
+	 * and has attempts left
+	 */
+	@Modifying
+	@Query("UPDATE OrderIntake i SET i.status = :pending, i.lastError = :lastError, i.version = i.version + 1 "
+			+ "WHERE i.intakeId = :intakeId AND i.version = :version AND i.status = :processing "
+			+ "AND i.attempts < :maxAttempts")
+	int retryClaim(@Param("intakeId") final String intakeId, 
+			@Param("version") final Integer version, 
+			@Param("maxAttempts") final int maxAttempts, 
+			@Param("lastError") final String lastError, 
+			@Param("processing") final OrderIntakeStatus processing, 
+			@Param("pending") final OrderIntakeStatus pending);
+	
+	/**
+	 * Parks a failed attempt that used up the row's attempts, under the same ownership condition as {@link #retryClaim}
+	 */
+	@Modifying
+	@Query("UPDATE OrderIntake i SET i.status = :failed, i.lastError = :lastError, i.version = i.version + 1 "
+			+ "WHERE i.intakeId = :intakeId AND i.version = :version AND i.status = :processing "
+			+ "AND i.attempts >= :maxAttempts")
+	int failClaim(@Param("intakeId") final String intakeId, 
+			@Param("version") final Integer version, 
+			@Param("maxAttempts") final int maxAttempts, 
+			@Param("lastError") final String lastError, 
+			@Param("processing") final OrderIntakeStatus processing, 
+			@Param("failed") final OrderIntakeStatus failed);
+	
+}
@@ -1,11 +1,24 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Order;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 	
+	/**
+	 * Fetches the eager cart in the same select instead of one extra select per distinct cart
+	 */
+	@Override
+	@EntityGraph(attributePaths = "cart")
+	List<Order> findAllById(final Iterable<Integer> orderIds);
 	
+	Slice<Order> findAllBy(final Pageable pageable);
+	Slice<Order> findByOrderIdGreaterThanOrderByOrderIdAsc(final Integer orderId, final Pageable pageable);
 	
 }
@@ -1,7 +1,10 @@
 package com.selimhorri.app.resilience;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderIntakeDto;
+import com.selimhorri.app.service.OrderIntakeService;
 import com.selimhorri.app.service.OrderService;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead.Type;
 import lombok.RequiredArgsConstructor;
@@ -16,9 +19,9 @@ import org.springframework.stereotype.Service;
  * and affecting other operations.
  * 
  * This implementation provides:
- * - Semaphore-based bulkh AAAºead for synchronous order processing
- * - Thread pool-based bulkhead for asynchronous order processing
- * - Fallback mechanisms when bulkhead is full
+ * - Semaphore-based bulkheads for regular and high priority order processing
+ * - Fallback to the durable order intake queue when a bulkhead is full, so a
+ *   load spike is queued and drained later instead of being lost
  * - Metrics and monitoring through Resilience4j
  * 
  * @author ecommerce-team
@@ -30,6 +33,7 @@ import org.springframework.stereotype.Service;
 public class OrderBulkheadService {
 
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
 
     /**
      * Process order with semaphore-based bulkhead protection.
@@ -38,99 +42,48 @@ public class OrderBulkheadService {
      * When the limit is reached, the fallback method is called.
      * 
      * @param orderDto The order to process
-     * @return Processed order
+     * @return Completed intake carrying the saved order
      */
     @Bulkhead(name = "orderProcessing", fallbackMethod = "orderProcessingFallback", type = Type.SEMAPHORE)
-    public OrderDto processOrder(OrderDto orderDto) {
+    public OrderIntakeDto processOrder(OrderDto orderDto) {
         log.info("Processing order with bulkhead protection: {}", orderDto.getOrderId());
 
-        try {
-            // Simulate processing time
-            Thread.sleep(100);
-
-            // Actual order processing
-            OrderDto savedOrder = orderService.save(orderDto);
-
-            log.info("Successfully processed order: {}", savedOrder.getOrderId());
-            return savedOrder;
+        OrderDto savedOrder = orderService.save(orderDto);
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Order processing interrupted: {}", orderDto.getOrderId());
-            throw new RuntimeException("Order processing interrupted", e);
-        }
+        log.info("Successfully processed order: {}", savedOrder.getOrderId());
+        return OrderIntakeDto.completed(savedOrder);
     }
 
     /**
      * Fallback method when bulkhead is full.
      * 
-     * This provides graceful degradation by queueing the order
-     * for later processing instead of rejecting it outright.
+     * The order is written to the intake outbox and drained by the intake workers;
+     * the caller gets the intake id to poll. Other failures are not swallowed here.
      * 
      * @param orderDto  The order that couldn't be processed
      * @param exception The exception that triggered the fallback
-     * @return Order with pending status
+     * @return Pending intake
      */
-    public OrderDto orderProcessingFallback(OrderDto orderDto, Exception exception) {
-        log.error("Bulkhead full for order processing. Order queued for retry: {}. Reason: {}",
-                orderDto.getOrderId(),
+    public OrderIntakeDto orderProcessingFallback(OrderDto orderDto, BulkheadFullException exception) {
+        log.warn("Bulkhead full for order processing, order queued for intake. Reason: {}",
                 exception.getMessage());
 
-        // Set order description to indicate pending retry status
-        orderDto.setOrderDesc("PENDING_RETRY: " + orderDto.getOrderDesc());
-
-        // In a real implementation, you would:
-        // 1. Queue to message broker (RabbitMQ, Kafka)
-        // 2. Store in retry queue database
-        // 3. Schedule for later processing
-
-        return orderDto;
+        return orderIntakeService.enqueue(orderDto);
     }
 
     /**
-     * Process order asynchronously with thread pool bulkhead.
+     * Accept an order for asynchronous processing.
      * 
-     * This uses a dedicated thread pool for async processing,
-     * preventing blocking operations from affecting the main thread pool.
+     * The order always goes through the intake outbox, whose worker pool is sized by
+     * {@code order-intake.worker-pool-size}.
      * 
      * @param orderDto The order to process
-     * @return Processed order
+     * @return Pending intake
      */
-    @Bulkhead(name = "orderAsyncProcessing", fallbackMethod = "orderAsyncProcessingFallback", type = Type.THREADPOOL)
-    public OrderDto processOrderAsync(OrderDto orderDto) {
-        log.info("Processing order asynchronously with thread pool bulkhead: {}", orderDto.getOrderId());
+    public OrderIntakeDto processOrderAsync(OrderDto orderDto) {
+        log.info("Queueing order for asynchronous processing");
 
-        try {
-            // Simulate async processing
-            Thread.sleep(200);
-
-            OrderDto savedOrder = orderService.save(orderDto);
-
-            log.info("Successfully processed order async: {}", savedOrder.getOrderId());
-            return savedOrder;
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Async order processing interrupted: {}", orderDto.getOrderId());
-            throw new RuntimeException("Async order processing interrupted", e);
-        }
-    }
-
-    /**
-     * Fallback for async processing when thread pool is full.
-     * 
-     * @param orderDto  The order that couldn't be processed
-     * @param exception The exception that triggered the fallback
-     * @return Order with queued status
-     */
-    public OrderDto orderAsyncProcessingFallback(OrderDto orderDto, Exception exception) {
-        log.error("Thread pool bulkhead full for async order processing. Order queued: {}. Reason: {}",
-                orderDto.getOrderId(),
-                exception.getMessage());
-
-        orderDto.setOrderDesc("QUEUED_FOR_ASYNC: " + orderDto.getOrderDesc());
-
-        return orderDto;
+        return orderIntakeService.enqueue(orderDto);
     }
 
     /**
@@ -140,10 +93,10 @@ public class OrderBulkheadService {
      * and are not affected by regular order processing load.
      * 
      * @param orderDto High priority order
-     * @return Processed order
+     * @return Completed intake carrying the saved order
      */
     @Bulkhead(name = "highPriorityOrders", fallbackMethod = "highPriorityFallback", type = Type.SEMAPHORE)
-    public OrderDto processHighPriorityOrder(OrderDto orderDto) {
+    public OrderIntakeDto processHighPriorityOrder(OrderDto orderDto) {
         log.info("Processing HIGH PRIORITY order: {}", orderDto.getOrderId());
 
         // Fast-track processing for high priority orders
@@ -151,24 +104,17 @@ public class OrderBulkheadService {
         orderDto.setOrderDesc("HIGH_PRIORITY: " + orderDto.getOrderDesc());
         OrderDto savedOrder = orderService.save(orderDto);
 
-        return savedOrder;
+        return OrderIntakeDto.completed(savedOrder);
     }
 
     /**
      * Fallback for high priority orders.
      * High priority orders should rarely hit this, but when they do,
-     * we need to handle them specially.
+     * they are queued like any other order and logged for escalation.
      */
-    public OrderDto highPriorityFallback(OrderDto orderDto, Exception exception) {
-        log.error("CRITICAL: High priority order bulkhead full: {}. Immediate escalation needed!",
-                orderDto.getOrderId());
-
-        // In production:
-        // 1. Alert operations team
-        // 2. Auto-scale if in cloud
-        // 3. Queue to highest priority queue
+    public OrderIntakeDto highPriorityFallback(OrderDto orderDto, BulkheadFullException exception) {
+        log.error("CRITICAL: High priority order bulkhead full, order queued for intake. Immediate escalation needed!");
 
-        orderDto.setOrderDesc("ESCALATED: " + orderDto.getOrderDesc());
-        return orderDto;
+        return orderIntakeService.enqueue(orderDto);
     }
 }
@@ -12,10 +12,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.CartService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,6 +37,24 @@ public class CartResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** CartDto Slice, controller; fetch carts page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.cartService
+				.findAll(PageRequestHelper.pageOf(page, size, "cartId"))));
+	}
+	
+	@GetMapping(params = {"after", "!page"})
+	public ResponseEntity<DtoCollectionResponse<CartDto>> findAllAfter(
+			@RequestParam("after") final Integer after, 
+			@RequestParam(value = "limit", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** CartDto Slice, controller; fetch carts after id *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.cartService
+				.findAllAfter(after, PageRequestHelper.limitOf(limit)), CartDto::getCartId));
+	}
+	
 	@GetMapping("/{cartId}")
 	public ResponseEntity<CartDto> findById(
 			@PathVariable("cartId") 
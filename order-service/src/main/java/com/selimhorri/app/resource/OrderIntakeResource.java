@@ -0,0 +1,84 @@
+package com.selimhorri.app.resource;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.selimhorri.app.domain.OrderIntakeStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderIntakeDto;
+import com.selimhorri.app.resilience.OrderBulkheadService;
+import com.selimhorri.app.service.OrderIntakeService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/orders/intake")
+@Slf4j
+@RequiredArgsConstructor
+public class OrderIntakeResource {
+	
+	private final OrderBulkheadService orderBulkheadService;
+	private final OrderIntakeService orderIntakeService;
+	
+	/**
+	 * 200 with the saved order when processed inline, 
+	 * 202 with a status id to poll when the bulkhead was saturated
+	 */
+	@PostMapping
+	public ResponseEntity<OrderIntakeDto> submit(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final OrderDto orderDto) {
+		log.info("*** OrderIntakeDto, resource; submit order *");
+		return this.respond(this.orderBulkheadService.processOrder(orderDto));
+	}
+	
+	@PostMapping("/async")
+	public ResponseEntity<OrderIntakeDto> submitAsync(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final OrderDto orderDto) {
+		log.info("*** OrderIntakeDto, resource; submit order asynchronously *");
+		return this.respond(this.orderBulkheadService.processOrderAsync(orderDto));
+	}
+	
+	@GetMapping("/{intakeId}")
+	public ResponseEntity<OrderIntakeDto> findById(@PathVariable("intakeId") final String intakeId) {
+		log.info("*** OrderIntakeDto, resource; fetch order intake status *");
+		return ResponseEntity.ok(this.orderIntakeService.findById(intakeId));
+	}
+	
+	private ResponseEntity<OrderIntakeDto> respond(final OrderIntakeDto intake) {
+		if (intake.getStatus() == OrderIntakeStatus.COMPLETED)
+			return ResponseEntity.ok(intake);
+		return ResponseEntity.accepted()
+				.location(ServletUriComponentsBuilder.fromCurrentContextPath()
+						.path("/api/orders/intake/{intakeId}")
+						.buildAndExpand(intake.getIntakeId())
+						.toUri())
+				.body(intake);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,5 +1,9 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,10 +16,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.config.FeatureToggleService;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.OrderService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +36,7 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderResource {
 	
 	private final OrderService orderService;
+	private final FeatureToggleService featureToggleService;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll() {
@@ -35,6 +44,24 @@ public class OrderResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** OrderDto Slice, controller; fetch orders page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.orderService
+				.findAll(PageRequestHelper.pageOf(page, size, "orderId"))));
+	}
+	
+	@GetMapping(params = {"after", "!page"})
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllAfter(
+			@RequestParam("after") final Integer after, 
+			@RequestParam(value = "limit", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** OrderDto Slice, controller; fetch orders after id *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.orderService
+				.findAllAfter(after, PageRequestHelper.limitOf(limit)), OrderDto::getOrderId));
+	}
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -53,6 +80,26 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.save(orderDto));
 	}
 	
+	@PostMapping("/batch")
+	public ResponseEntity<Map<Integer, OrderDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final Set<Integer> orderIds) {
+		log.info("*** OrderDto Map, resource; fetch orders by ids *");
+		return ResponseEntity.ok(this.orderService.findAllByIds(orderIds));
+	}
+	
+	@PostMapping("/bulk")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<OrderDto> orderDtos) {
+		log.info("*** OrderDto List, resource; save orders in bulk *");
+		if (!this.featureToggleService.isEnabled(AppConstant.BULK_ORDER_FEATURE))
+			throw new IllegalStateException(String.format("Feature '%s' is disabled", AppConstant.BULK_ORDER_FEATURE));
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.saveAll(orderDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
 			@RequestBody 
@@ -0,0 +1,17 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderIntakeClaim;
+import com.selimhorri.app.dto.OrderIntakeDto;
+
+public interface OrderIntakeService {
+	
+	OrderIntakeDto enqueue(final OrderDto orderDto);
+	OrderIntakeDto findById(final String intakeId);
+	List<OrderIntakeClaim> claimNext(final int limit);
+	void process(final OrderIntakeClaim claim);
+	void recordFailure(final OrderIntakeClaim claim, final Exception cause);
+	
+}
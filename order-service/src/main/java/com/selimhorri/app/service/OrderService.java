@@ -1,14 +1,23 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.OrderDto;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
+	Slice<OrderDto> findAll(final Pageable pageable);
+	Slice<OrderDto> findAllAfter(final Integer orderId, final int limit);
 	OrderDto findById(final Integer orderId);
+	Map<Integer, OrderDto> findAllByIds(final Collection<Integer> orderIds);
 	OrderDto save(final OrderDto orderDto);
+	List<OrderDto> saveAll(final List<OrderDto> orderDtos);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
 	void deleteById(final Integer orderId);
@@ -1,13 +1,18 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.batch.BatchLoader;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
@@ -27,20 +32,38 @@ public class CartServiceImpl implements CartService {
 	
 	private final CartRepository cartRepository;
 	private final RestTemplate restTemplate;
+	private final BatchLoader<UserDto> userBatchLoader;
 	
 	@Override
 	public List<CartDto> findAll() {
 		log.info("*** CartDto List, service; fetch all carts *");
-		return this.cartRepository.findAll()
+		final List<CartDto> cartDtos = this.cartRepository.findAll()
 				.stream()
 					.map(CartMappingHelper::map)
-					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-						return c;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toList());
+		this.attachUsers(cartDtos);
+		return cartDtos.stream()
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Slice<CartDto> findAll(final Pageable pageable) {
+		log.info("*** CartDto Slice, service; fetch carts page *");
+		final Slice<CartDto> cartDtos = this.cartRepository.findAllBy(pageable)
+				.map(CartMappingHelper::map);
+		this.attachUsers(cartDtos.getContent());
+		return cartDtos;
+	}
+	
+	@Override
+	public Slice<CartDto> findAllAfter(final Integer cartId, final int limit) {
+		log.info("*** CartDto Slice, service; fetch carts after id *");
+		final Slice<CartDto> cartDtos = this.cartRepository
+				.findByCartIdGreaterThanOrderByCartIdAsc(cartId, PageRequest.of(0, limit))
+				.map(CartMappingHelper::map);
+		this.attachUsers(cartDtos.getContent());
+		return cartDtos;
 	}
 	
 	@Override
@@ -84,6 +107,17 @@ public class CartServiceImpl implements CartService {
 		this.cartRepository.deleteById(cartId);
 	}
 	
+	/**
+	 * Users are resolved through the USER-SERVICE batch endpoint, batched together with the lookups of 
+	 * concurrent listings; a user that cannot be resolved keeps its id-only placeholder
+	 */
+	private void attachUsers(final List<CartDto> cartDtos) {
+		final Map<Integer, UserDto> userDtos = this.userBatchLoader.loadAll(cartDtos.stream()
+				.map(CartDto::getUserId)
+				.collect(Collectors.toList()));
+		cartDtos.forEach(c -> c.setUserDto(userDtos.getOrDefault(c.getUserId(), c.getUserDto())));
+	}
+	
 	
 	
 }
@@ -0,0 +1,190 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.config.intake.OrderIntakeProperties;
+import com.selimhorri.app.domain.OrderIntake;
+import com.selimhorri.app.domain.OrderIntakeStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderIntakeClaim;
+import com.selimhorri.app.dto.OrderIntakeDto;
+import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.repository.OrderIntakeRepository;
+import com.selimhorri.app.service.OrderIntakeService;
+import com.selimhorri.app.service.OrderService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class OrderIntakeServiceImpl implements OrderIntakeService {
+	
+	private static final int MAX_ERROR_LENGTH = 255;
+	
+	private final OrderIntakeRepository orderIntakeRepository;
+	private final OrderService orderService;
+	private final ObjectMapper objectMapper;
+	private final OrderIntakeProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public OrderIntakeDto enqueue(final OrderDto orderDto) {
+		log.info("*** OrderIntakeDto, service; enqueue order *");
+		final OrderIntake intake = this.orderIntakeRepository.save(OrderIntake.builder()
+				.intakeId(UUID.randomUUID().toString())
+				.payload(this.write(orderDto))
+				.status(OrderIntakeStatus.PENDING)
+				.attempts(0)
+				.enqueuedAt(LocalDateTime.now())
+				.build());
+		this.count("enqueued");
+		return this.map(intake);
+	}
+	
+	@Override
+	public OrderIntakeDto findById(final String intakeId) {
+		log.info("*** OrderIntakeDto, service; fetch order intake by id *");
+		return this.orderIntakeRepository.findById(intakeId)
+				.map(this::map)
+				.orElseThrow(() -> new OrderNotFoundException(String
+						.format("Order intake with id: %s not found", intakeId)));
+	}
+	
+	/**
+	 * Stale claims are first handed back to the queue, or parked as FAILED once they used up their attempts. 
+	 * Each returned claim carries the version its claim wrote, which later writes of the attempt are checked against.
+	 */
+	@Override
+	public List<OrderIntakeClaim> claimNext(final int limit) {
+		final LocalDateTime now = LocalDateTime.now();
+		final LocalDateTime claimedBefore = now.minus(this.properties.getStaleAfter());
+		final int failed = this.orderIntakeRepository.failStale(claimedBefore, this.properties.getMaxAttempts(), 
+				"Processing timed out on every attempt", OrderIntakeStatus.PROCESSING, OrderIntakeStatus.FAILED);
+		if (failed > 0) {
+			this.count("failed", failed);
+			log.error("*** OrderIntake, service; parked {} stale intake(s) out of attempts as failed *", failed);
+		}
+		final int released = this.orderIntakeRepository.releaseStale(claimedBefore, this.properties.getMaxAttempts(), 
+				OrderIntakeStatus.PENDING, OrderIntakeStatus.PROCESSING);
+		if (released > 0)
+			log.warn("*** OrderIntake, service; released {} stale intake(s) back to the queue *", released);
+		return this.orderIntakeRepository.findByStatusOrderByEnqueuedAtAsc(OrderIntakeStatus.PENDING, PageRequest.of(0, limit))
+				.stream()
+					.filter(intake -> this.orderIntakeRepository.claim(intake.getIntakeId(), intake.getVersion(), now, 
+							OrderIntakeStatus.PENDING, OrderIntakeStatus.PROCESSING) == 1)
+					.map(intake -> OrderIntakeClaim.builder()
+							.intakeId(intake.getIntakeId())
+							.version(intake.getVersion() + 1)
+							.build())
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Saves the order and completes the intake in one transaction, so a crash in between 
+	 * can neither lose the order nor create it twice. A row no longer at the claim's version was 
+	 * released or re-claimed and is left alone; if that happens while the order is being saved, 
+	 * the flush fails with an optimistic locking exception and the order rolls back with it.
+	 */
+	@Override
+	public void process(final OrderIntakeClaim claim) {
+		final String intakeId = claim.getIntakeId();
+		final OrderIntake intake = this.orderIntakeRepository.findById(intakeId)
+				.orElseThrow(() -> new OrderNotFoundException(String
+						.format("Order intake with id: %s not found", intakeId)));
+		if (intake.getStatus() != OrderIntakeStatus.PROCESSING || !claim.getVersion().equals(intake.getVersion()))
+			return;
+		final OrderDto saved = this.orderService.save(this.read(intake.getPayload()));
+		intake.setStatus(OrderIntakeStatus.COMPLETED);
+		intake.setOrderId(saved.getOrderId());
+		intake.setLastError(null);
+		this.orderIntakeRepository.saveAndFlush(intake);
+		this.count("completed");
+		log.info("*** OrderIntake, service; intake {} completed as order {} *", intakeId, saved.getOrderId());
+	}
+	
+	/**
+	 * Applied as conditional updates on the claim's version, so a late report from a worker whose claim 
+	 * went stale cannot reset a row that was completed or re-claimed by another worker since
+	 */
+	@Override
+	public void recordFailure(final OrderIntakeClaim claim, final Exception cause) {
+		final String message = String.valueOf(cause.getMessage());
+		final String error = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+		if (this.orderIntakeRepository.retryClaim(claim.getIntakeId(), claim.getVersion(), this.properties.getMaxAttempts(), 
+				error, OrderIntakeStatus.PROCESSING, OrderIntakeStatus.PENDING) == 1) {
+			this.count("retried");
+			log.error("*** OrderIntake, service; intake {} attempt failed, retrying: {} *", claim.getIntakeId(), error);
+		}
+		else if (this.orderIntakeRepository.failClaim(claim.getIntakeId(), claim.getVersion(), this.properties.getMaxAttempts(), 
+				error, OrderIntakeStatus.PROCESSING, OrderIntakeStatus.FAILED) == 1) {
+			this.count("failed");
+			log.error("*** OrderIntake, service; intake {} failed on its last attempt: {} *", claim.getIntakeId(), error);
+		}
+		else
+			log.warn("*** OrderIntake, service; intake {} no longer held by this claim, failure dropped *", claim.getIntakeId());
+	}
+	
+	private void count(final String outcome) {
+		this.count(outcome, 1);
+	}
+	
+	private void count(final String outcome, final int amount) {
+		this.meterRegistry.counter("orders.intake.total", "service", "order-service", "outcome", outcome)
+				.increment(amount);
+	}
+	
+	private OrderIntakeDto map(final OrderIntake intake) {
+		return OrderIntakeDto.builder()
+				.intakeId(intake.getIntakeId())
+				.status(intake.getStatus())
+				.attempts(intake.getAttempts())
+				.orderId(intake.getOrderId())
+				.lastError(intake.getLastError())
+				.build();
+	}
+	
+	private String write(final OrderDto orderDto) {
+		try {
+			return this.objectMapper.writeValueAsString(orderDto);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Order could not be serialized for the intake queue", e);
+		}
+	}
+	
+	private OrderDto read(final String payload) {
+		try {
+			return this.objectMapper.readValue(payload, OrderDto.class);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException("Queued order payload is unreadable", e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
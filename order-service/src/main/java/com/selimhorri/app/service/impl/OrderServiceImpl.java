@@ -1,14 +1,22 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Order;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.helper.BatchLookupHelper;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.OrderRepository;
 import com.selimhorri.app.service.OrderService;
@@ -34,6 +42,20 @@ public class OrderServiceImpl implements OrderService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<OrderDto> findAll(final Pageable pageable) {
+		log.info("*** OrderDto Slice, service; fetch orders page *");
+		return this.orderRepository.findAllBy(pageable)
+				.map(OrderMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<OrderDto> findAllAfter(final Integer orderId, final int limit) {
+		log.info("*** OrderDto Slice, service; fetch orders after id *");
+		return this.orderRepository.findByOrderIdGreaterThanOrderByOrderIdAsc(orderId, PageRequest.of(0, limit))
+				.map(OrderMappingHelper::map);
+	}
+	
 	@Override
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
@@ -43,6 +65,16 @@ public class OrderServiceImpl implements OrderService {
 						.format("Order with id: %d not found", orderId)));
 	}
 	
+	@Override
+	public Map<Integer, OrderDto> findAllByIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto Map, service; fetch orders by ids *");
+		return BatchLookupHelper.findAllInChunks(orderIds, chunk -> this.orderRepository
+				.findAllById(chunk)
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toList()), OrderDto::getOrderId);
+	}
+	
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
@@ -50,6 +82,29 @@ public class OrderServiceImpl implements OrderService {
 				.save(OrderMappingHelper.map(orderDto)));
 	}
 	
+	/**
+	 * Inserts all orders in the current transaction; with pooled sequence ids and 
+	 * hibernate.jdbc.batch_size set, the inserts go out as JDBC batches on flush
+	 */
+	@Override
+	public List<OrderDto> saveAll(final List<OrderDto> orderDtos) {
+		log.info("*** OrderDto List, service; save orders in bulk *");
+		if (orderDtos.isEmpty() || orderDtos.size() > AppConstant.MAX_BULK_ORDER_SIZE)
+			throw new IllegalArgumentException(String
+					.format("Bulk order size must be between 1 and %d", AppConstant.MAX_BULK_ORDER_SIZE));
+		return this.orderRepository.saveAll(orderDtos.stream()
+					.map(orderDto -> {
+						final Order order = OrderMappingHelper.map(orderDto);
+						// always a new row, never a merge of a client supplied id
+						order.setOrderId(null);
+						return order;
+					})
+					.collect(Collectors.toList()))
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order *");
@@ -0,0 +1,14 @@
+
+-- pooled id allocation so Hibernate can batch order inserts (IDENTITY forces one round trip per row);
+-- a table rather than a sequence since MySQL has no sequences
+CREATE TABLE id_generators (
+	gen_name VARCHAR(255) NOT NULL PRIMARY KEY,
+	gen_value BIGINT NOT NULL
+);
+
+-- the pooled optimizer hands out the 50 ids up to and including the stored value: 1001 (the generator's
+-- initial value) yields ids from 1001, any higher value starts right above the rows already in orders
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'order_id', GREATEST(COALESCE(MAX(order_id), 0) + 50, 1001) FROM orders;
+
+
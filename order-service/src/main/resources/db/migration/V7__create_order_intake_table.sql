@@ -0,0 +1,16 @@
+
+-- durable outbox for orders accepted while the processing bulkhead is saturated
+CREATE TABLE order_intake (
+	intake_id VARCHAR(36) NOT NULL PRIMARY KEY,
+	payload CLOB NOT NULL,
+	status VARCHAR(20) NOT NULL,
+	attempts INT(11) NOT NULL DEFAULT 0,
+	order_id INT(11),
+	last_error VARCHAR(255),
+	enqueued_at TIMESTAMP NOT NULL,
+	claimed_at TIMESTAMP
+);
+
+CREATE INDEX idx_order_intake_status_enqueued_at ON order_intake (status, enqueued_at);
+
+
@@ -0,0 +1,5 @@
+
+-- optimistic locking of intake rows: a worker whose claim went stale and was re-claimed cannot complete it
+ALTER TABLE order_intake ADD version INT(11) DEFAULT 0 NOT NULL;
+
+
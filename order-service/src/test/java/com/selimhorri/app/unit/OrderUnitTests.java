@@ -1,20 +1,61 @@
 package com.selimhorri.app.unit;
 
+import com.selimhorri.app.batch.BatchLoader;
+import com.selimhorri.app.config.batch.BatchLoaderConfig;
+import com.selimhorri.app.config.batch.BatchLoaderProperties;
+import com.selimhorri.app.config.intake.OrderIntakeProperties;
 import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OrderIntake;
+import com.selimhorri.app.domain.OrderIntakeStatus;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderIntakeClaim;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.helper.OrderMappingHelper;
 import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.repository.OrderIntakeRepository;
+import com.selimhorri.app.service.impl.CartServiceImpl;
+import com.selimhorri.app.service.impl.OrderIntakeServiceImpl;
 import com.selimhorri.app.service.impl.OrderServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 
 class OrderUnitTests {
 
+    private BatchLoaderConfig batchLoaderConfig;
+
+    @BeforeEach
+    void setUp() {
+        this.batchLoaderConfig = new BatchLoaderConfig(new BatchLoaderProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.batchLoaderConfig.shutdown();
+    }
+
+    private BatchLoader<UserDto> userBatchLoader(RestTemplate restTemplate) {
+        return this.batchLoaderConfig.userBatchLoader(restTemplate, new SimpleMeterRegistry());
+    }
+
     @Test
     void testMapOrderToDto() {
         Cart cart = Cart.builder().cartId(1).build();
@@ -65,4 +106,144 @@ class OrderUnitTests {
         Mockito.when(repo.findAll()).thenReturn(Collections.singletonList(order));
         assertFalse(service.findAll().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCartFindAllResolvesUsersInOneBatchCall() {
+        CartRepository repo = Mockito.mock(CartRepository.class);
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        CartServiceImpl service = new CartServiceImpl(repo, restTemplate, userBatchLoader(restTemplate));
+        Mockito.when(repo.findAll()).thenReturn(List.of(
+                Cart.builder().cartId(1).userId(7).build(),
+                Cart.builder().cartId(2).userId(7).build(),
+                Cart.builder().cartId(3).userId(8).build()));
+        Map<Integer, UserDto> users = Map.of(
+                7, UserDto.builder().userId(7).firstName("A").build(),
+                8, UserDto.builder().userId(8).firstName("B").build());
+        Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class), Mockito.any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(users));
+        List<CartDto> result = service.findAll();
+        assertEquals(3, result.size());
+        assertEquals("B", result.get(2).getUserDto().getFirstName());
+        Mockito.verify(restTemplate, Mockito.times(1)).exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class), Mockito.any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindAllByIdsQueriesInChunksAndSkipsUnknownIds() {
+        OrderRepository repo = Mockito.mock(OrderRepository.class);
+        OrderServiceImpl service = new OrderServiceImpl(repo);
+        Mockito.when(repo.findAllById(Mockito.anyIterable())).thenAnswer(invocation -> {
+            List<Order> orders = new java.util.ArrayList<>();
+            ((Iterable<Integer>) invocation.getArgument(0)).forEach(id -> {
+                if (id % 2 == 0)
+                    orders.add(Order.builder().orderId(id).cart(Cart.builder().cartId(1).build()).build());
+            });
+            return orders;
+        });
+        List<Integer> ids = java.util.stream.IntStream.rangeClosed(1, 150).boxed().collect(java.util.stream.Collectors.toList());
+        Map<Integer, OrderDto> result = service.findAllByIds(ids);
+        assertEquals(75, result.size());
+        assertEquals(4, result.get(4).getOrderId());
+        assertFalse(result.containsKey(3));
+        Mockito.verify(repo, Mockito.times(2)).findAllById(Mockito.anyIterable());
+        assertThrows(IllegalArgumentException.class, () -> service.findAllByIds(java.util.stream.IntStream
+                .rangeClosed(1, 501).boxed().collect(java.util.stream.Collectors.toList())));
+    }
+
+    @Test
+    void testSaveAllPersistsNewRowsInOneCall() {
+        OrderRepository repo = Mockito.mock(OrderRepository.class);
+        OrderServiceImpl service = new OrderServiceImpl(repo);
+        List<OrderDto> dtos = List.of(
+                OrderDto.builder().orderId(99).orderDesc("a").cartDto(CartDto.builder().cartId(1).build()).build(),
+                OrderDto.builder().orderDesc("b").cartDto(CartDto.builder().cartId(2).build()).build());
+        Mockito.when(repo.saveAll(Mockito.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<OrderDto> result = service.saveAll(dtos);
+        assertEquals(2, result.size());
+        assertNull(result.get(0).getOrderId());
+        Mockito.verify(repo, Mockito.times(1)).saveAll(Mockito.anyList());
+        assertThrows(IllegalArgumentException.class, () -> service.saveAll(List.of()));
+    }
+
+    @Test
+    void testQueuedOrderIsSavedThenParkedAfterMaxAttempts() throws Exception {
+        OrderIntakeRepository intakeRepo = Mockito.mock(OrderIntakeRepository.class);
+        OrderRepository orderRepo = Mockito.mock(OrderRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        OrderIntakeProperties properties = new OrderIntakeProperties();
+        OrderIntakeServiceImpl service = new OrderIntakeServiceImpl(intakeRepo, new OrderServiceImpl(orderRepo),
+                objectMapper, properties, new SimpleMeterRegistry());
+        OrderDto dto = OrderDto.builder().orderDesc("queued").cartDto(CartDto.builder().cartId(1).build()).build();
+        OrderIntake intake = OrderIntake.builder().intakeId("i-1").payload(objectMapper.writeValueAsString(dto))
+                .status(OrderIntakeStatus.PROCESSING).attempts(1).version(1).build();
+        Mockito.when(intakeRepo.findById("i-1")).thenReturn(Optional.of(intake));
+        Mockito.when(orderRepo.save(Mockito.any())).thenReturn(Order.builder().orderId(1000).cart(Cart.builder().cartId(1).build()).build());
+        service.process(new OrderIntakeClaim("i-1", 1));
+        assertEquals(OrderIntakeStatus.COMPLETED, intake.getStatus());
+        assertEquals(1000, intake.getOrderId());
+
+        // attempts left: back to PENDING; out of attempts: FAILED
+        OrderIntakeClaim failing = new OrderIntakeClaim("i-2", 4);
+        Mockito.when(intakeRepo.retryClaim(Mockito.eq("i-2"), Mockito.eq(4), Mockito.eq(properties.getMaxAttempts()),
+                Mockito.eq("db down"), Mockito.eq(OrderIntakeStatus.PROCESSING), Mockito.eq(OrderIntakeStatus.PENDING))).thenReturn(1, 0);
+        Mockito.when(intakeRepo.failClaim(Mockito.eq("i-2"), Mockito.eq(4), Mockito.eq(properties.getMaxAttempts()),
+                Mockito.eq("db down"), Mockito.eq(OrderIntakeStatus.PROCESSING), Mockito.eq(OrderIntakeStatus.FAILED))).thenReturn(1);
+        service.recordFailure(failing, new IllegalStateException("db down"));
+        Mockito.verify(intakeRepo, Mockito.never()).failClaim(Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any());
+        service.recordFailure(failing, new IllegalStateException("db down"));
+        Mockito.verify(intakeRepo).failClaim(Mockito.eq("i-2"), Mockito.eq(4), Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testStaleClaimsAreParkedOnceOutOfAttemptsAndClaimsCarryTheirVersion() {
+        OrderIntakeRepository intakeRepo = Mockito.mock(OrderIntakeRepository.class);
+        OrderIntakeProperties properties = new OrderIntakeProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OrderIntakeServiceImpl service = new OrderIntakeServiceImpl(intakeRepo, new OrderServiceImpl(Mockito.mock(OrderRepository.class)),
+                new ObjectMapper(), properties, registry);
+        Mockito.when(intakeRepo.failStale(Mockito.any(), Mockito.eq(properties.getMaxAttempts()), Mockito.anyString(),
+                Mockito.eq(OrderIntakeStatus.PROCESSING), Mockito.eq(OrderIntakeStatus.FAILED))).thenReturn(2);
+        Mockito.when(intakeRepo.findByStatusOrderByEnqueuedAtAsc(Mockito.eq(OrderIntakeStatus.PENDING), Mockito.any()))
+                .thenReturn(List.of(OrderIntake.builder().intakeId("i-1").version(3).build(),
+                        OrderIntake.builder().intakeId("i-2").version(0).build()));
+        Mockito.when(intakeRepo.claim(Mockito.eq("i-1"), Mockito.eq(3), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(1);
+        // i-2 was claimed by another instance in between
+        Mockito.when(intakeRepo.claim(Mockito.eq("i-2"), Mockito.eq(0), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(0);
+
+        assertEquals(List.of(new OrderIntakeClaim("i-1", 4)), service.claimNext(10));
+        Mockito.verify(intakeRepo).releaseStale(Mockito.any(), Mockito.eq(properties.getMaxAttempts()),
+                Mockito.eq(OrderIntakeStatus.PENDING), Mockito.eq(OrderIntakeStatus.PROCESSING));
+        assertEquals(2, registry.counter("orders.intake.total", "service", "order-service", "outcome", "failed").count());
+    }
+
+    @Test
+    void testProcessLosingItsClaimRollsBackAndLeavesTheRowToTheNewOwner() throws Exception {
+        OrderIntakeRepository intakeRepo = Mockito.mock(OrderIntakeRepository.class);
+        OrderRepository orderRepo = Mockito.mock(OrderRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        OrderIntakeServiceImpl service = new OrderIntakeServiceImpl(intakeRepo, new OrderServiceImpl(orderRepo),
+                objectMapper, new OrderIntakeProperties(), new SimpleMeterRegistry());
+        OrderDto dto = OrderDto.builder().orderDesc("queued").cartDto(CartDto.builder().cartId(1).build()).build();
+        OrderIntake intake = OrderIntake.builder().intakeId("i-1").payload(objectMapper.writeValueAsString(dto))
+                .status(OrderIntakeStatus.PROCESSING).attempts(1).version(1).build();
+        Mockito.when(intakeRepo.findById("i-1")).thenReturn(Optional.of(intake));
+        Mockito.when(orderRepo.save(Mockito.any())).thenReturn(Order.builder().orderId(1001).cart(Cart.builder().cartId(1).build()).build());
+        // the row was released and re-claimed (version bumped) while this worker was still saving
+        Mockito.when(intakeRepo.saveAndFlush(intake)).thenThrow(new ObjectOptimisticLockingFailureException(OrderIntake.class, "i-1"));
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.process(new OrderIntakeClaim("i-1", 1)));
+
+        // a claim that was already taken over before processing started does nothing
+        intake.setVersion(3);
+        service.process(new OrderIntakeClaim("i-1", 1));
+        Mockito.verify(orderRepo, Mockito.times(1)).save(Mockito.any());
+
+        // a late failure report misses a row re-claimed since (its version moved on), so nothing is reset
+        service.recordFailure(new OrderIntakeClaim("i-2", 1), new IllegalStateException("late"));
+        Mockito.verify(intakeRepo).retryClaim(Mockito.eq("i-2"), Mockito.eq(1), Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(intakeRepo).failClaim(Mockito.eq("i-2"), Mockito.eq(1), Mockito.anyInt(), Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(intakeRepo, Mockito.never()).findById("i-2");
+    }
+}
@@ -0,0 +1,121 @@
+package com.selimhorri.app.coalesce;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.selimhorri.app.config.coalesce.CoalescingProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight for downstream lookups: while a lookup for a key is running, further callers for the
+ * same key wait on its {@link CompletableFuture} instead of issuing their own call. Nothing is kept once
+ * the lookup completes, so this adds no staleness.
+ * 
+ * Publishes {@code coalescing.requests{lookup,role=leader|follower}} and {@code coalescing.ratio{lookup}},
+ * the share of callers served by another caller's lookup.
+ */
+@Component
+public class RequestCoalescer {
+	
+	private final CoalescingProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+	
+	public RequestCoalescer(final CoalescingProperties properties, final MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	/**
+	 * Runs the loader on the calling thread unless a lookup for the same key is already in flight, in
+	 * which case its result (or exception) is shared
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(final String lookup, final Object id, final Supplier<T> loader) {
+		if (!this.properties.isEnabled())
+			return loader.get();
+		final Stats stats = this.stats.computeIfAbsent(lookup, this::register);
+		final String key = lookup + ":" + id;
+		final CompletableFuture<Object> call = new CompletableFuture<>();
+		final CompletableFuture<Object> running = this.inFlight.putIfAbsent(key, call);
+		if (running != null) {
+			stats.followers.increment();
+			return (T) this.await(running, key);
+		}
+		stats.leaders.increment();
+		try {
+			final T value = loader.get();
+			call.complete(value);
+			return value;
+		}
+		catch (RuntimeException e) {
+			call.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			this.inFlight.remove(key, call);
+		}
+	}
+	
+	private Object await(final CompletableFuture<Object> running, final String key) {
+		try {
+			return running.get(this.properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+		catch (TimeoutException e) {
+			throw new ResourceAccessException(String.format("Timed out waiting for in-flight lookup %s", key));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ResourceAccessException(String.format("Interrupted waiting for in-flight lookup %s", key));
+		}
+	}
+	
+	private Stats register(final String lookup) {
+		final Stats stats = new Stats();
+		FunctionCounter.builder("coalescing.requests", stats.leaders, LongAdder::doubleValue)
+				.tag("lookup", lookup)
+				.tag("role", "leader")
+				.register(this.meterRegistry);
+		FunctionCounter.builder("coalescing.requests", stats.followers, LongAdder::doubleValue)
+				.tag("lookup", lookup)
+				.tag("role", "follower")
+				.register(this.meterRegistry);
+		Gauge.builder("coalescing.ratio", stats, Stats::ratio)
+				.tag("lookup", lookup)
+				.description("Share of lookups answered by another caller's in-flight call")
+				.register(this.meterRegistry);
+		return stats;
+	}
+	
+	private static class Stats {
+		
+		private final LongAdder leaders = new LongAdder();
+		private final LongAdder followers = new LongAdder();
+		
+		private double ratio() {
+			final double followers = this.followers.doubleValue();
+			final double total = followers + this.leaders.doubleValue();
+			return total == 0 ? 0 : followers / total;
+		}
+	
+	}
+	
+}
@@ -0,0 +1,44 @@
+package com.selimhorri.app.config.snapshot;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Tuning for the local order snapshot sync (see {@code order-snapshot.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "order-snapshot")
+@Data
+public class OrderSnapshotProperties {
+	
+	/**
+	 * Whether this instance runs the sync; snapshots are still written on payment creation
+	 */
+	private boolean enabled = true;
+	
+	/**
+	 * Delay between two sync passes
+	 */
+	private Duration syncInterval = Duration.ofMinutes(1);
+	
+	/**
+	 * Maximum number of orders fetched per ORDER-SERVICE batch call; kept under its 500 ids limit
+	 */
+	private int batchSize = 100;
+	
+	/**
+	 * A pass keeps fetching full batches until no missing or stale snapshots are left or this much time has
+	 * passed; the rest is picked up by the next pass
+	 */
+	private Duration maxPassDuration = Duration.ofSeconds(30);
+	
+	/**
+	 * A snapshot synced longer ago than this is refreshed on the next pass
+	 */
+	private Duration refreshAfter = Duration.ofMinutes(10);
+	
+}
@@ -0,0 +1,54 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Local copy of the order a payment belongs to, so payment reads do not depend on ORDER-SERVICE
+ */
+@Entity
+@Table(name = "order_snapshots")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class OrderSnapshot implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
+	private Integer orderId;
+	
+	@Column(name = "order_date")
+	private LocalDateTime orderDate;
+	
+	@Column(name = "order_desc")
+	private String orderDesc;
+	
+	@Column(name = "order_fee", columnDefinition = "decimal")
+	private Double orderFee;
+	
+	@Column(name = "synced_at", nullable = false)
+	private LocalDateTime syncedAt;
+	
+}
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,79 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a payment transition, keyed by the client's {@code Idempotency-Key}
+ */
+@Entity
+@Table(name = "payment_idempotency_keys")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public final class PaymentIdempotencyKey implements Persistable<String>, Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "idempotency_key", unique = true, nullable = false, updatable = false)
+	private String idempotencyKey;
+	
+	@Column(name = "payment_id", nullable = false, updatable = false)
+	private Integer paymentId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "transition", nullable = false, updatable = false)
+	private PaymentTransition transition;
+	
+	@Column(name = "order_id", updatable = false)
+	private Integer orderId;
+	
+	@Column(name = "is_payed", updatable = false)
+	private Boolean isPayed;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "payment_status", nullable = false, updatable = false)
+	private PaymentStatus paymentStatus;
+	
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+	
+	@Override
+	public String getId() {
+		return this.idempotencyKey;
+	}
+	
+	/**
+	 * Keys are only ever inserted, so a concurrent duplicate fails on the primary key instead of being merged
+	 */
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
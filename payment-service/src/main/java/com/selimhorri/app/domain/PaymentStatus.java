@@ -9,7 +9,9 @@ public enum PaymentStatus {
 	
 	NOT_STARTED("not_started"),
 	IN_PROGRESS("in_progress"),
-	COMPLETED("completed");
+	COMPLETED("completed"),
+	FAILED("failed"),
+	REFUNDED("refunded");
 	
 	private final String status;
 	
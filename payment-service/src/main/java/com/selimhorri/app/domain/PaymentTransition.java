@@ -0,0 +1,48 @@
+package com.selimhorri.app.domain;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Legal moves of the payment state machine; a payment without a status counts as {@link PaymentStatus#NOT_STARTED}
+ */
+@RequiredArgsConstructor
+@Getter
+public enum PaymentTransition {
+	
+	START(EnumSet.of(PaymentStatus.NOT_STARTED), PaymentStatus.IN_PROGRESS),
+	COMPLETE(EnumSet.of(PaymentStatus.IN_PROGRESS), PaymentStatus.COMPLETED),
+	FAIL(EnumSet.of(PaymentStatus.NOT_STARTED, PaymentStatus.IN_PROGRESS), PaymentStatus.FAILED),
+	REFUND(EnumSet.of(PaymentStatus.COMPLETED), PaymentStatus.REFUNDED);
+	
+	private final Set<PaymentStatus> sources;
+	private final PaymentStatus target;
+	
+	public boolean isAllowedFrom(final PaymentStatus paymentStatus) {
+		return this.sources.contains(paymentStatus == null ? PaymentStatus.NOT_STARTED : paymentStatus);
+	}
+	
+	public static PaymentTransition of(final String transition) {
+		return Arrays.stream(values())
+				.filter(t -> t.name().equalsIgnoreCase(transition))
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException(String.format("Unknown payment transition: %s", transition)));
+	}
+	
+	/**
+	 * Whether a plain update may move a payment from source to target: one legal transition, or the 
+	 * NOT_STARTED to COMPLETED jump that clients made before transitions existed
+	 */
+	public static boolean isUpdatable(final PaymentStatus source, final PaymentStatus target) {
+		final PaymentStatus from = source == null ? PaymentStatus.NOT_STARTED : source;
+		if (from == PaymentStatus.NOT_STARTED && target == PaymentStatus.COMPLETED)
+			return true;
+		return Arrays.stream(values())
+				.anyMatch(transition -> transition.target == target && transition.isAllowedFrom(from));
+	}
+	
+}
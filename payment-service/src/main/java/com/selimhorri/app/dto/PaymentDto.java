@@ -24,6 +24,12 @@ public class PaymentDto implements Serializable {
 	private Boolean isPayed;
 	private PaymentStatus paymentStatus;
 	
+	/**
+	 * Version the client last read; an update carrying an outdated one is rejected with 409
+	 */
+	@JsonInclude(Include.NON_NULL)
+	private Integer version;
+	
 	@JsonProperty("order")
 	@JsonInclude(Include.NON_NULL)
 	private OrderDto orderDto;
@@ -6,12 +6,14 @@ import java.time.ZonedDateTime;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 
 import lombok.RequiredArgsConstructor;
@@ -42,6 +44,7 @@ public class ApiExceptionHandler {
 	
 	@ExceptionHandler(value = {
 		IllegalStateException.class,
+		IllegalArgumentException.class,
 		PaymentNotFoundException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
@@ -58,6 +61,28 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	/**
+	 * A concurrent update or transition of the same payment (or of the same idempotency key) won; 
+	 * the request can be retried
+	 */
+	@ExceptionHandler(value = {
+		ObjectOptimisticLockingFailureException.class,
+		IdempotencyKeyConflictException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleConflictException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle conflict*\n");
+		final var conflict = HttpStatus.CONFLICT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### " + e.getMessage() + "! ####")
+					.httpStatus(conflict)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), conflict);
+	}
+	
 	
 	
 }
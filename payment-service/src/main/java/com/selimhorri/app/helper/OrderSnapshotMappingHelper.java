@@ -0,0 +1,41 @@
+package com.selimhorri.app.helper;
+
+import java.time.LocalDateTime;
+
+import com.selimhorri.app.domain.OrderSnapshot;
+import com.selimhorri.app.dto.OrderDto;
+
+public interface OrderSnapshotMappingHelper {
+	
+	public static OrderDto map(final OrderSnapshot orderSnapshot) {
+		return OrderDto.builder()
+				.orderId(orderSnapshot.getOrderId())
+				.orderDate(orderSnapshot.getOrderDate())
+				.orderDesc(orderSnapshot.getOrderDesc())
+				.orderFee(orderSnapshot.getOrderFee())
+				.build();
+	}
+	
+	public static OrderSnapshot map(final OrderDto orderDto, final LocalDateTime syncedAt) {
+		return OrderSnapshot.builder()
+				.orderId(orderDto.getOrderId())
+				.orderDate(orderDto.getOrderDate())
+				.orderDesc(orderDto.getOrderDesc())
+				.orderFee(orderDto.getOrderFee())
+				.syncedAt(syncedAt)
+				.build();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
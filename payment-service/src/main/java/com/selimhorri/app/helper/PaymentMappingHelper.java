@@ -11,6 +11,7 @@ public interface PaymentMappingHelper {
 				.paymentId(payment.getPaymentId())
 				.isPayed(payment.getIsPayed())
 				.paymentStatus(payment.getPaymentStatus())
+				.version(payment.getVersion())
 				.orderDto(
 						OrderDto.builder()
 							.orderId(payment.getOrderId())
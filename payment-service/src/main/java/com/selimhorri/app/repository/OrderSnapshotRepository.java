@@ -0,0 +1,28 @@
+package com.selimhorri.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderSnapshot;
+
+public interface OrderSnapshotRepository extends JpaRepository<OrderSnapshot, Integer> {
+	
+	/**
+	 * Ids of the snapshots synced longest ago, oldest first
+	 */
+	@Query("SELECT s.orderId FROM OrderSnapshot s WHERE s.syncedAt < :syncedBefore ORDER BY s.syncedAt ASC")
+	List<Integer> findStaleOrderIds(@Param("syncedBefore") final LocalDateTime syncedBefore, final Pageable pageable);
+	
+	/**
+	 * Orders referenced by a payment that have no snapshot yet (e.g. ORDER-SERVICE was down at creation)
+	 */
+	@Query("SELECT DISTINCT p.orderId FROM Payment p WHERE p.orderId IS NOT NULL "
+			+ "AND NOT EXISTS (SELECT s FROM OrderSnapshot s WHERE s.orderId = p.orderId)")
+	List<Integer> findMissingOrderIds(final Pageable pageable);
+	
+}
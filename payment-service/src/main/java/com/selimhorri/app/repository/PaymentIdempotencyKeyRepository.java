@@ -0,0 +1,9 @@
+package com.selimhorri.app.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.selimhorri.app.domain.PaymentIdempotencyKey;
+
+public interface PaymentIdempotencyKeyRepository extends JpaRepository<PaymentIdempotencyKey, String> {
+	
+}
@@ -1,11 +1,17 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Payment;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
-	
+	Slice<Payment> findAllBy(final Pageable pageable);
+	Slice<Payment> findByPaymentIdGreaterThanOrderByPaymentIdAsc(final Integer paymentId, final Pageable pageable);
+	List<Payment> findAllByOrderId(final Integer orderId);
 	
 }
@@ -11,11 +11,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.domain.PaymentTransition;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,21 +31,58 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentResource {
 	
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	
 	private final PaymentService paymentService;
 	
+	/**
+	 * {@code ?enrich=live} bypasses the local order snapshots and asks ORDER-SERVICE
+	 */
+	private static boolean isLive(final String enrich) {
+		return "live".equalsIgnoreCase(enrich);
+	}
+	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll(
+			@RequestParam(value = "enrich", required = false) final String enrich) {
 		log.info("*** PaymentDto List, controller; fetch all payments *");
-		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll(isLive(enrich))));
+	}
+	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size, 
+			@RequestParam(value = "enrich", required = false) final String enrich) {
+		log.info("*** PaymentDto Slice, controller; fetch payments page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.paymentService
+				.findAll(PageRequestHelper.pageOf(page, size, "paymentId"), isLive(enrich))));
+	}
+	
+	@GetMapping(params = {"after", "!page"})
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAllAfter(
+			@RequestParam("after") final Integer after, 
+			@RequestParam(value = "limit", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int limit, 
+			@RequestParam(value = "enrich", required = false) final String enrich) {
+		log.info("*** PaymentDto Slice, controller; fetch payments after id *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.paymentService
+				.findAllAfter(after, PageRequestHelper.limitOf(limit), isLive(enrich)), PaymentDto::getPaymentId));
+	}
+	
+	@GetMapping(params = {"orderId", "!page", "!after"})
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAllByOrderId(@RequestParam("orderId") final Integer orderId) {
+		log.info("*** PaymentDto List, controller; fetch payments by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAllByOrderId(orderId)));
 	}
 	
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
 			@PathVariable("paymentId") 
 			@NotBlank(message = "Input must not be blank") 
-			@Valid final String paymentId) {
+			@Valid final String paymentId, 
+			@RequestParam(value = "enrich", required = false) final String enrich) {
 		log.info("*** PaymentDto, resource; fetch payment by id *");
-		return ResponseEntity.ok(this.paymentService.findById(Integer.parseInt(paymentId)));
+		return ResponseEntity.ok(this.paymentService.findById(Integer.parseInt(paymentId), isLive(enrich)));
 	}
 	
 	@PostMapping
@@ -62,6 +103,20 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.update(paymentDto));
 	}
 	
+	/**
+	 * Moves a payment through start, complete, fail or refund; retries sending the same 
+	 * {@value #IDEMPOTENCY_KEY_HEADER} header get the first attempt's result back
+	 */
+	@PostMapping("/{paymentId}/{transition}")
+	public ResponseEntity<PaymentDto> transition(
+			@PathVariable("paymentId") final String paymentId, 
+			@PathVariable("transition") final String transition, 
+			@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey) {
+		log.info("*** PaymentDto, resource; transition payment *");
+		return ResponseEntity.ok(this.paymentService.transition(Integer.parseInt(paymentId), 
+				PaymentTransition.of(transition), idempotencyKey));
+	}
+	
 	@DeleteMapping("/{paymentId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("paymentId") final String paymentId) {
 		log.info("*** Boolean, resource; delete payment by id *");
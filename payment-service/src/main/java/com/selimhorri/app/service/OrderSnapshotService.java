@@ -0,0 +1,18 @@
+package com.selimhorri.app.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import com.selimhorri.app.dto.OrderDto;
+
+public interface OrderSnapshotService {
+	
+	Optional<OrderDto> findByOrderId(final Integer orderId);
+	Map<Integer, OrderDto> findAllByOrderIds(final Collection<Integer> orderIds);
+	void save(final OrderDto orderDto);
+	int syncMissing(final int limit);
+	int syncStale(final LocalDateTime syncedBefore, final int limit);
+	
+}
@@ -2,14 +2,22 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.selimhorri.app.domain.PaymentTransition;
 import com.selimhorri.app.dto.PaymentDto;
 
 public interface PaymentService {
 	
-	List<PaymentDto> findAll();
-	PaymentDto findById(final Integer paymentId);
+	List<PaymentDto> findAll(final boolean liveOrders);
+	Slice<PaymentDto> findAll(final Pageable pageable, final boolean liveOrders);
+	Slice<PaymentDto> findAllAfter(final Integer paymentId, final int limit, final boolean liveOrders);
+	List<PaymentDto> findAllByOrderId(final Integer orderId);
+	PaymentDto findById(final Integer paymentId, final boolean liveOrders);
 	PaymentDto save(final PaymentDto paymentDto);
 	PaymentDto update(final PaymentDto paymentDto);
+	PaymentDto transition(final Integer paymentId, final PaymentTransition transition, final String idempotencyKey);
 	void deleteById(final Integer paymentId);
 	
 }
@@ -0,0 +1,119 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderSnapshot;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.helper.OrderSnapshotMappingHelper;
+import com.selimhorri.app.repository.OrderSnapshotRepository;
+import com.selimhorri.app.service.OrderSnapshotService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Not transactional at class level on purpose: a sync pass must not hold a connection
+ * while it waits on ORDER-SERVICE, so each repository call runs in its own transaction
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderSnapshotServiceImpl implements OrderSnapshotService {
+	
+	private final OrderSnapshotRepository orderSnapshotRepository;
+	private final RestTemplate restTemplate;
+	
+	@Override
+	public Optional<OrderDto> findByOrderId(final Integer orderId) {
+		log.info("*** OrderDto, service; fetch order snapshot by order id *");
+		return this.orderSnapshotRepository.findById(orderId)
+				.map(OrderSnapshotMappingHelper::map);
+	}
+	
+	@Override
+	public Map<Integer, OrderDto> findAllByOrderIds(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto Map, service; fetch order snapshots by order ids *");
+		return this.orderSnapshotRepository.findAllById(orderIds.stream()
+					.distinct()
+					.collect(Collectors.toList()))
+				.stream()
+					.collect(Collectors.toUnmodifiableMap(OrderSnapshot::getOrderId, OrderSnapshotMappingHelper::map));
+	}
+	
+	/**
+	 * Runs in its own transaction so a failed snapshot write never rolls back the payment it was taken for
+	 */
+	@Override
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	public void save(final OrderDto orderDto) {
+		log.info("*** Void, service; save order snapshot *");
+		this.orderSnapshotRepository.save(OrderSnapshotMappingHelper.map(orderDto, LocalDateTime.now()));
+	}
+	
+	@Override
+	public int syncMissing(final int limit) {
+		return this.refresh(this.orderSnapshotRepository.findMissingOrderIds(PageRequest.of(0, limit)));
+	}
+	
+	@Override
+	public int syncStale(final LocalDateTime syncedBefore, final int limit) {
+		return this.refresh(this.orderSnapshotRepository.findStaleOrderIds(syncedBefore, PageRequest.of(0, limit)));
+	}
+	
+	/**
+	 * Fetches the orders in one ORDER-SERVICE batch call and rewrites their snapshots. An order ORDER-SERVICE 
+	 * does not return keeps its last copy (or an id-only one) but is marked synced, so it goes to the back of 
+	 * the queue instead of being retried on every pass; a failed call throws and leaves every row untouched.
+	 */
+	private int refresh(final List<Integer> orderIds) {
+		if (orderIds.isEmpty())
+			return 0;
+		final Map<Integer, OrderDto> orderDtos = Optional.ofNullable(this.restTemplate.exchange(
+					AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/batch", 
+					HttpMethod.POST, 
+					new HttpEntity<>(orderIds), 
+					new ParameterizedTypeReference<Map<Integer, OrderDto>>() {})
+				.getBody())
+				.orElseGet(Map::of);
+		final Map<Integer, OrderSnapshot> current = this.orderSnapshotRepository.findAllById(orderIds)
+				.stream()
+					.collect(Collectors.toMap(OrderSnapshot::getOrderId, Function.identity()));
+		final LocalDateTime syncedAt = LocalDateTime.now();
+		final List<OrderSnapshot> orderSnapshots = orderIds.stream()
+				.map(orderId -> orderDtos.containsKey(orderId) 
+						? OrderSnapshotMappingHelper.map(orderDtos.get(orderId), syncedAt) 
+						: current.getOrDefault(orderId, OrderSnapshot.builder().orderId(orderId).build()))
+				.peek(s -> s.setSyncedAt(syncedAt))
+				.collect(Collectors.toList());
+		this.orderSnapshotRepository.saveAll(orderSnapshots);
+		return orderSnapshots.size();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
@@ -1,19 +1,39 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.batch.BatchLoader;
+import com.selimhorri.app.coalesce.RequestCoalescer;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentIdempotencyKey;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.domain.PaymentTransition;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
+import com.selimhorri.app.repository.PaymentIdempotencyKeyRepository;
 import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.OrderSnapshotService;
 import com.selimhorri.app.service.PaymentService;
 
 import lombok.RequiredArgsConstructor;
@@ -25,32 +45,70 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 	
+	private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64;
+	
 	private final PaymentRepository paymentRepository;
+	private final PaymentIdempotencyKeyRepository paymentIdempotencyKeyRepository;
 	private final RestTemplate restTemplate;
+	private final RequestCoalescer requestCoalescer;
+	private final BatchLoader<OrderDto> orderBatchLoader;
+	private final OrderSnapshotService orderSnapshotService;
 	
 	@Override
-	public List<PaymentDto> findAll() {
+	public List<PaymentDto> findAll(final boolean liveOrders) {
 		log.info("*** PaymentDto List, service; fetch all payments *");
-		return this.paymentRepository.findAll()
+		final List<PaymentDto> paymentDtos = this.paymentRepository.findAll()
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toList());
+		this.attachOrders(paymentDtos, liveOrders);
+		return paymentDtos.stream()
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Slice<PaymentDto> findAll(final Pageable pageable, final boolean liveOrders) {
+		log.info("*** PaymentDto Slice, service; fetch payments page *");
+		final Slice<PaymentDto> paymentDtos = this.paymentRepository.findAllBy(pageable)
+				.map(PaymentMappingHelper::map);
+		this.attachOrders(paymentDtos.getContent(), liveOrders);
+		return paymentDtos;
+	}
+	
+	@Override
+	public Slice<PaymentDto> findAllAfter(final Integer paymentId, final int limit, final boolean liveOrders) {
+		log.info("*** PaymentDto Slice, service; fetch payments after id *");
+		final Slice<PaymentDto> paymentDtos = this.paymentRepository
+				.findByPaymentIdGreaterThanOrderByPaymentIdAsc(paymentId, PageRequest.of(0, limit))
+				.map(PaymentMappingHelper::map);
+		this.attachOrders(paymentDtos.getContent(), liveOrders);
+		return paymentDtos;
+	}
+	
+	/**
+	 * Payments of a single order; the order is not re-fetched since the caller already knows it
+	 */
+	@Override
+	public List<PaymentDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** PaymentDto List, service; fetch payments by order id *");
+		return this.paymentRepository.findAllByOrderId(orderId)
 				.stream()
 					.map(PaymentMappingHelper::map)
-					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
-						return p;
-					})
-					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
-	public PaymentDto findById(final Integer paymentId) {
+	public PaymentDto findById(final Integer paymentId, final boolean liveOrders) {
 		log.info("*** PaymentDto, service; fetch payment by id *");
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
 				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+					final Integer orderId = p.getOrderDto().getOrderId();
+					if (liveOrders)
+						p.setOrderDto(this.fetchOrder(orderId));
+					else if (orderId != null)
+						this.orderSnapshotService.findByOrderId(orderId).ifPresent(p::setOrderDto);
 					return p;
 				})
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
@@ -59,15 +117,81 @@ public class PaymentServiceImpl implements PaymentService {
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		final Payment payment = PaymentMappingHelper.map(paymentDto);
+		// always a new row: existing payments change through update or a transition
+		payment.setPaymentId(null);
+		final PaymentDto savedPaymentDto = PaymentMappingHelper.map(this.paymentRepository.save(payment));
+		this.snapshotOrderAfterCommit(savedPaymentDto.getOrderDto().getOrderId());
+		return savedPaymentDto;
 	}
 	
+	/**
+	 * Applies the DTO onto the stored payment; a status change must be a single {@link PaymentTransition} 
+	 * (or the legacy NOT_STARTED to COMPLETED jump), and {@code isPayed} follows the status as it does for 
+	 * transitions. A DTO carrying the version it was read at only applies if nobody changed the payment since
+	 */
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		final Payment payment = this.findPayment(paymentDto.getPaymentId());
+		if (paymentDto.getVersion() != null && !paymentDto.getVersion().equals(payment.getVersion()))
+			throw new ObjectOptimisticLockingFailureException(Payment.class, payment.getPaymentId());
+		final PaymentStatus paymentStatus = Optional.ofNullable(paymentDto.getPaymentStatus())
+				.orElse(payment.getPaymentStatus());
+		if (paymentStatus != payment.getPaymentStatus() 
+				&& !PaymentTransition.isUpdatable(payment.getPaymentStatus(), paymentStatus))
+			throw new IllegalStateException(String.format("Payment with id: %d cannot move from %s to %s", 
+					payment.getPaymentId(), payment.getPaymentStatus(), paymentStatus));
+		payment.setOrderId(paymentDto.getOrderDto().getOrderId());
+		payment.setIsPayed(paymentStatus == PaymentStatus.COMPLETED);
+		payment.setPaymentStatus(paymentStatus);
+		return PaymentMappingHelper.map(this.paymentRepository.save(payment));
+	}
+	
+	/**
+	 * A retry carrying an already used idempotency key is answered from the key table without reading 
+	 * or locking the payment. Two concurrent first attempts race on the payment version (and the key's 
+	 * primary key): the loser fails with a conflict and its retry then replays the winner's result.
+	 */
+	@Override
+	public PaymentDto transition(final Integer paymentId, final PaymentTransition transition, final String idempotencyKey) {
+		log.info("*** PaymentDto, service; transition payment *");
+		if (idempotencyKey != null) {
+			if (idempotencyKey.isBlank() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH)
+				throw new IllegalArgumentException(String.format("Idempotency key must be 1 to %d characters", 
+						IDEMPOTENCY_KEY_MAX_LENGTH));
+			final Optional<PaymentIdempotencyKey> previous = this.paymentIdempotencyKeyRepository.findById(idempotencyKey);
+			if (previous.isPresent())
+				return this.replay(previous.get(), paymentId, transition);
+		}
+		final Payment payment = this.findPayment(paymentId);
+		if (!transition.isAllowedFrom(payment.getPaymentStatus()))
+			throw new IllegalStateException(String.format("Payment with id: %d cannot %s from %s", 
+					paymentId, transition, payment.getPaymentStatus()));
+		payment.setPaymentStatus(transition.getTarget());
+		payment.setIsPayed(transition.getTarget() == PaymentStatus.COMPLETED);
+		final Payment transitioned = this.paymentRepository.saveAndFlush(payment);
+		if (idempotencyKey != null)
+			this.saveIdempotencyKey(PaymentIdempotencyKey.builder()
+					.idempotencyKey(idempotencyKey)
+					.paymentId(paymentId)
+					.transition(transition)
+					.orderId(transitioned.getOrderId())
+					.isPayed(transitioned.getIsPayed())
+					.paymentStatus(transitioned.getPaymentStatus())
+					.createdAt(LocalDateTime.now())
+					.build());
+		return PaymentMappingHelper.map(transitioned);
+	}
+	
+	private void saveIdempotencyKey(final PaymentIdempotencyKey paymentIdempotencyKey) {
+		try {
+			this.paymentIdempotencyKeyRepository.saveAndFlush(paymentIdempotencyKey);
+		}
+		catch (DataIntegrityViolationException e) {
+			throw new IdempotencyKeyConflictException(String.format("Idempotency key %s is used by a concurrent request", 
+					paymentIdempotencyKey.getIdempotencyKey()), e);
+		}
 	}
 	
 	@Override
@@ -76,6 +200,85 @@ public class PaymentServiceImpl implements PaymentService {
 		this.paymentRepository.deleteById(paymentId);
 	}
 	
+	private Payment findPayment(final Integer paymentId) {
+		return this.paymentRepository.findById(paymentId)
+				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
+	}
+	
+	private PaymentDto replay(final PaymentIdempotencyKey previous, final Integer paymentId, final PaymentTransition transition) {
+		if (!previous.getPaymentId().equals(paymentId) || previous.getTransition() != transition)
+			throw new IllegalArgumentException(String.format("Idempotency key %s was already used for %s of payment %d", 
+					previous.getIdempotencyKey(), previous.getTransition(), previous.getPaymentId()));
+		return PaymentDto.builder()
+				.paymentId(previous.getPaymentId())
+				.isPayed(previous.getIsPayed())
+				.paymentStatus(previous.getPaymentStatus())
+				.orderDto(OrderDto.builder()
+						.orderId(previous.getOrderId())
+						.build())
+				.build();
+	}
+	
+	/**
+	 * Orders of a listing come from the local snapshot table; live ones go out as ORDER-SERVICE batch calls, 
+	 * shared with concurrent listings. An order that cannot be resolved keeps its id-only placeholder
+	 */
+	private void attachOrders(final List<PaymentDto> paymentDtos, final boolean liveOrders) {
+		final List<Integer> orderIds = paymentDtos.stream()
+				.map(p -> p.getOrderDto().getOrderId())
+				.filter(Objects::nonNull)
+				.collect(Collectors.toList());
+		final Map<Integer, OrderDto> orderDtos = liveOrders 
+				? this.orderBatchLoader.loadAll(orderIds) 
+				: this.orderSnapshotService.findAllByOrderIds(orderIds);
+		paymentDtos.forEach(p -> Optional.ofNullable(p.getOrderDto().getOrderId())
+				.map(orderDtos::get)
+				.ifPresent(p::setOrderDto));
+	}
+	
+	/**
+	 * The ORDER-SERVICE call must not run inside the payment transaction: it would hold that connection 
+	 * while waiting, and the REQUIRES_NEW snapshot write would take a second one from the same pool
+	 */
+	private void snapshotOrderAfterCommit(final Integer orderId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.snapshotOrder(orderId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			
+			@Override
+			public void afterCommit() {
+				PaymentServiceImpl.this.snapshotOrder(orderId);
+			}
+			
+		});
+	}
+	
+	/**
+	 * Best effort: when ORDER-SERVICE is unavailable the payment is still saved and the snapshot sync 
+	 * backfills the order later
+	 */
+	private void snapshotOrder(final Integer orderId) {
+		if (orderId == null)
+			return;
+		try {
+			Optional.ofNullable(this.fetchOrder(orderId))
+					.ifPresent(this.orderSnapshotService::save);
+		}
+		catch (RuntimeException e) {
+			log.warn("Order snapshot of order {} deferred to sync: {}", orderId, e.getMessage());
+		}
+	}
+	
+	/**
+	 * Concurrent lookups of the same (hot) order share one ORDER-SERVICE call
+	 */
+	private OrderDto fetchOrder(final Integer orderId) {
+		return this.requestCoalescer.get("orders", orderId, () -> this.restTemplate
+				.getForObject(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class));
+	}
+	
 	
 	
 }
@@ -0,0 +1,93 @@
+package com.selimhorri.app.snapshot;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.snapshot.OrderSnapshotProperties;
+import com.selimhorri.app.service.OrderSnapshotService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps {@code order_snapshots} close to ORDER-SERVICE with a periodic incremental sync.
+ * 
+ * Each pass first backfills orders that have payments but no snapshot, then refreshes the
+ * snapshots synced longest ago, {@link OrderSnapshotProperties#getBatchSize()} orders per
+ * ORDER-SERVICE batch call. Batches repeat until none are left or
+ * {@link OrderSnapshotProperties#getMaxPassDuration()} has passed. Orders carry no reliable change
+ * timestamp, hence the age-based refresh rather than a change feed. Publishes
+ * {@code order-snapshot.synced{source=missing|stale}}.
+ */
+@Component
+@Slf4j
+public class OrderSnapshotSyncWorker {
+	
+	private final OrderSnapshotService orderSnapshotService;
+	private final OrderSnapshotProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final ScheduledExecutorService poller;
+	
+	public OrderSnapshotSyncWorker(final OrderSnapshotService orderSnapshotService, final OrderSnapshotProperties properties, 
+			final MeterRegistry meterRegistry) {
+		this.orderSnapshotService = orderSnapshotService;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "order-snapshot-sync");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	@PostConstruct
+	public void start() {
+		if (!this.properties.isEnabled()) {
+			log.info("Order snapshot sync disabled on this instance");
+			return;
+		}
+		final long interval = this.properties.getSyncInterval().toMillis();
+		this.poller.scheduleWithFixedDelay(this::sync, interval, interval, TimeUnit.MILLISECONDS);
+	}
+	
+	void sync() {
+		try {
+			final long deadline = System.nanoTime() + this.properties.getMaxPassDuration().toNanos();
+			final int batchSize = this.properties.getBatchSize();
+			this.drain("missing", deadline, () -> this.orderSnapshotService.syncMissing(batchSize));
+			// fixed for the whole pass, so rows refreshed by this pass are not picked up again
+			final LocalDateTime syncedBefore = LocalDateTime.now().minus(this.properties.getRefreshAfter());
+			this.drain("stale", deadline, () -> this.orderSnapshotService.syncStale(syncedBefore, batchSize));
+		}
+		catch (Exception e) {
+			// never let an exception cancel the scheduled sync; the same rows are picked up next pass
+			log.error("Order snapshot sync failed: {}", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Repeats a sync step while it keeps filling whole batches and the pass has time left
+	 */
+	private void drain(final String source, final long deadline, final IntSupplier step) {
+		int synced;
+		do {
+			synced = step.getAsInt();
+			this.meterRegistry.counter("order-snapshot.synced", "source", source).increment(synced);
+		}
+		while (synced >= this.properties.getBatchSize() && System.nanoTime() - deadline < 0);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.poller.shutdownNow();
+	}
+	
+}
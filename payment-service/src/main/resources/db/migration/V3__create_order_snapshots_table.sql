@@ -0,0 +1,14 @@
+
+-- local copy of the ORDER-SERVICE fields payment reads expose, refreshed by the snapshot sync
+CREATE TABLE order_snapshots (
+	order_id INT(11) NOT NULL PRIMARY KEY,
+	order_date TIMESTAMP,
+	order_desc VARCHAR(255),
+	order_fee DECIMAL(7, 2),
+	synced_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_order_snapshots_synced_at ON order_snapshots (synced_at);
+
+
+
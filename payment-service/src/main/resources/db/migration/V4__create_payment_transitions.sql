@@ -0,0 +1,17 @@
+
+-- optimistic locking of payment rows; every state transition bumps the version
+ALTER TABLE payments ADD version INT(11) DEFAULT 0 NOT NULL;
+
+-- result of each transition request carrying an Idempotency-Key, replayed to retries of the same request
+CREATE TABLE payment_idempotency_keys (
+	idempotency_key VARCHAR(64) NOT NULL PRIMARY KEY,
+	payment_id INT(11) NOT NULL,
+	transition VARCHAR(20) NOT NULL,
+	order_id INT(11),
+	is_payed BOOLEAN,
+	payment_status VARCHAR(255) NOT NULL,
+	created_at TIMESTAMP NOT NULL
+);
+
+
+
@@ -48,6 +48,7 @@ class PaymentIntegrationTests {
         OrderDto orderDto = OrderDto.builder().orderId(2).build();
         PaymentDto dto = PaymentDto.builder().paymentId(1).isPayed(true).paymentStatus(null).orderDto(orderDto).build();
         Payment entity = Payment.builder().paymentId(1).isPayed(true).paymentStatus(null).orderId(2).build();
+        Mockito.when(repo.findById(1)).thenReturn(Optional.of(entity));
         Mockito.when(repo.save(Mockito.any())).thenReturn(entity);
         PaymentDto result = service.update(dto);
         assertEquals(dto.getPaymentId(), result.getPaymentId());
@@ -64,7 +65,7 @@ class PaymentIntegrationTests {
         Payment entity = Payment.builder().paymentId(1).isPayed(true).paymentStatus(null).orderId(2).build();
         Mockito.when(repo.findById(1)).thenReturn(Optional.of(entity));
         Mockito.when(restTemplate.getForObject(Mockito.anyString(), Mockito.any())).thenReturn(com.selimhorri.app.dto.OrderDto.builder().orderId(2).build());
-        PaymentDto result = service.findById(1);
+        PaymentDto result = service.findById(1, true);
         assertEquals(entity.getPaymentId(), result.getPaymentId());
     }
 }
\ No newline at end of file
@@ -1,18 +1,76 @@
 package com.selimhorri.app.unit;
 
+import com.selimhorri.app.coalesce.RequestCoalescer;
+import com.selimhorri.app.config.batch.BatchLoaderConfig;
+import com.selimhorri.app.config.batch.BatchLoaderProperties;
+import com.selimhorri.app.config.coalesce.CoalescingProperties;
+import com.selimhorri.app.domain.OrderSnapshot;
 import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentIdempotencyKey;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.domain.PaymentTransition;
 import com.selimhorri.app.dto.PaymentDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.exception.wrapper.IdempotencyKeyConflictException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
+import com.selimhorri.app.repository.OrderSnapshotRepository;
+import com.selimhorri.app.repository.PaymentIdempotencyKeyRepository;
 import com.selimhorri.app.repository.PaymentRepository;
+import com.selimhorri.app.service.OrderSnapshotService;
+import com.selimhorri.app.service.impl.OrderSnapshotServiceImpl;
 import com.selimhorri.app.service.impl.PaymentServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import static org.junit.jupiter.api.Assertions.*;
 
 class PaymentUnitTests {
 
+    private PaymentRepository paymentRepository;
+    private PaymentIdempotencyKeyRepository idempotencyKeyRepository;
+    private RestTemplate restTemplate;
+    private OrderSnapshotService orderSnapshotService;
+    private SimpleMeterRegistry meterRegistry;
+    private BatchLoaderConfig batchLoaderConfig;
+    private PaymentServiceImpl paymentService;
+
+    @BeforeEach
+    void setUp() {
+        this.paymentRepository = Mockito.mock(PaymentRepository.class);
+        this.idempotencyKeyRepository = Mockito.mock(PaymentIdempotencyKeyRepository.class);
+        this.restTemplate = Mockito.mock(RestTemplate.class);
+        this.orderSnapshotService = Mockito.mock(OrderSnapshotService.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.batchLoaderConfig = new BatchLoaderConfig(new BatchLoaderProperties());
+        this.paymentService = new PaymentServiceImpl(this.paymentRepository, this.idempotencyKeyRepository, this.restTemplate,
+                new RequestCoalescer(new CoalescingProperties(), this.meterRegistry),
+                this.batchLoaderConfig.orderBatchLoader(this.restTemplate, this.meterRegistry), this.orderSnapshotService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.batchLoaderConfig.shutdown();
+    }
 
     @Test
     void testMapPaymentToDto() {
@@ -36,36 +94,237 @@ class PaymentUnitTests {
 
     @Test
     void testSaveCallsRepository() {
-        PaymentRepository repo = Mockito.mock(PaymentRepository.class);
-        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
-        PaymentServiceImpl service = new PaymentServiceImpl(repo, restTemplate);
         OrderDto orderDto = OrderDto.builder().orderId(2).build();
         PaymentDto dto = PaymentDto.builder().paymentId(1).isPayed(true).paymentStatus(null).orderDto(orderDto).build();
         Payment entity = PaymentMappingHelper.map(dto);
-        Mockito.when(repo.save(Mockito.any())).thenReturn(entity);
-        PaymentDto result = service.save(dto);
+        Mockito.when(this.paymentRepository.save(Mockito.any())).thenReturn(entity);
+        PaymentDto result = this.paymentService.save(dto);
         assertEquals(dto.getPaymentId(), result.getPaymentId());
     }
 
     @Test
     void testUpdateCallsRepository() {
-        PaymentRepository repo = Mockito.mock(PaymentRepository.class);
-        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
-        PaymentServiceImpl service = new PaymentServiceImpl(repo, restTemplate);
         OrderDto orderDto = OrderDto.builder().orderId(2).build();
         PaymentDto dto = PaymentDto.builder().paymentId(1).isPayed(true).paymentStatus(null).orderDto(orderDto).build();
         Payment entity = PaymentMappingHelper.map(dto);
-        Mockito.when(repo.save(Mockito.any())).thenReturn(entity);
-        PaymentDto result = service.update(dto);
+        Mockito.when(this.paymentRepository.findById(1)).thenReturn(Optional.of(entity));
+        Mockito.when(this.paymentRepository.save(Mockito.any())).thenReturn(entity);
+        PaymentDto result = this.paymentService.update(dto);
         assertEquals(dto.getPaymentId(), result.getPaymentId());
     }
 
     @Test
     void testDeleteByIdCallsRepository() {
-        PaymentRepository repo = Mockito.mock(PaymentRepository.class);
+        this.paymentService.deleteById(1);
+        Mockito.verify(this.paymentRepository).deleteById(1);
+    }
+
+    @Test
+    void testFindAllByOrderIdDoesNotRefetchOrder() {
+        Mockito.when(this.paymentRepository.findAllByOrderId(2)).thenReturn(java.util.List.of(
+                Payment.builder().paymentId(1).isPayed(true).orderId(2).build(),
+                Payment.builder().paymentId(3).isPayed(false).orderId(2).build()));
+        assertEquals(2, this.paymentService.findAllByOrderId(2).size());
+        Mockito.verifyNoInteractions(this.restTemplate);
+    }
+
+    @Test
+    void testConcurrentLookupsOfSameOrderShareOneCall() throws Exception {
+        Mockito.when(this.paymentRepository.findById(Mockito.anyInt())).thenAnswer(invocation -> Optional.of(
+                Payment.builder().paymentId(invocation.getArgument(0)).isPayed(true).orderId(2).build()));
+        CountDownLatch called = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(this.restTemplate.getForObject(Mockito.anyString(), Mockito.eq(OrderDto.class))).thenAnswer(invocation -> {
+            called.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return OrderDto.builder().orderId(2).build();
+        });
+
+        CompletableFuture<PaymentDto> leader = CompletableFuture.supplyAsync(() -> this.paymentService.findById(1, true));
+        assertTrue(called.await(5, TimeUnit.SECONDS));
+        CompletableFuture<PaymentDto> follower = CompletableFuture.supplyAsync(() -> this.paymentService.findById(3, true));
+        while (this.meterRegistry.get("coalescing.requests").tag("role", "follower").functionCounter().count() < 1)
+            Thread.sleep(5);
+        release.countDown();
+
+        assertEquals(2, leader.get(5, TimeUnit.SECONDS).getOrderDto().getOrderId());
+        assertEquals(2, follower.get(5, TimeUnit.SECONDS).getOrderDto().getOrderId());
+        Mockito.verify(this.restTemplate, Mockito.times(1)).getForObject(Mockito.anyString(), Mockito.eq(OrderDto.class));
+        assertEquals(0.5, this.meterRegistry.get("coalescing.ratio").gauge().value());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindAllResolvesOrdersInOneBatchCall() {
+        Mockito.when(this.paymentRepository.findAll()).thenReturn(List.of(
+                Payment.builder().paymentId(1).isPayed(true).orderId(2).build(),
+                Payment.builder().paymentId(3).isPayed(false).orderId(2).build(),
+                Payment.builder().paymentId(4).isPayed(false).orderId(5).build()));
+        Mockito.when(this.restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class), Mockito.any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Map.of(2, OrderDto.builder().orderId(2).orderDesc("hot").build())));
+        List<PaymentDto> result = this.paymentService.findAll(true);
+        assertEquals(3, result.size());
+        assertEquals("hot", result.get(1).getOrderDto().getOrderDesc());
+        // unknown order keeps its placeholder
+        assertEquals(5, result.get(2).getOrderDto().getOrderId());
+        Mockito.verify(this.restTemplate, Mockito.times(1)).exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class), Mockito.any(ParameterizedTypeReference.class));
+        Mockito.verify(this.restTemplate, Mockito.never()).getForObject(Mockito.anyString(), Mockito.eq(OrderDto.class));
+    }
+
+    @Test
+    void testReadsServeOrdersFromSnapshotsWithoutCallingOrderService() {
+        Mockito.when(this.paymentRepository.findAll()).thenReturn(List.of(
+                Payment.builder().paymentId(1).isPayed(true).orderId(2).build(),
+                Payment.builder().paymentId(4).isPayed(false).orderId(5).build()));
+        Mockito.when(this.paymentRepository.findById(1)).thenReturn(Optional.of(Payment.builder().paymentId(1).isPayed(true).orderId(2).build()));
+        OrderDto snapshot = OrderDto.builder().orderId(2).orderDesc("local").orderFee(10.0).build();
+        Mockito.when(this.orderSnapshotService.findAllByOrderIds(Mockito.anyCollection())).thenReturn(Map.of(2, snapshot));
+        Mockito.when(this.orderSnapshotService.findByOrderId(2)).thenReturn(Optional.of(snapshot));
+
+        List<PaymentDto> result = this.paymentService.findAll(false);
+        assertEquals("local", result.get(0).getOrderDto().getOrderDesc());
+        // no snapshot yet keeps the id-only placeholder
+        assertEquals(5, result.get(1).getOrderDto().getOrderId());
+        assertNull(result.get(1).getOrderDto().getOrderDesc());
+        assertEquals("local", this.paymentService.findById(1, false).getOrderDto().getOrderDesc());
+        Mockito.verifyNoInteractions(this.restTemplate);
+    }
+
+    @Test
+    void testSaveSnapshotsOrderAndToleratesOrderServiceFailure() {
+        PaymentDto dto = PaymentDto.builder().isPayed(false).orderDto(OrderDto.builder().orderId(2).build()).build();
+        Mockito.when(this.paymentRepository.save(Mockito.any())).thenReturn(Payment.builder().paymentId(1).isPayed(false).orderId(2).build());
+        OrderDto order = OrderDto.builder().orderId(2).orderDesc("fresh").build();
+        Mockito.when(this.restTemplate.getForObject(Mockito.anyString(), Mockito.eq(OrderDto.class)))
+                .thenReturn(order)
+                .thenThrow(new ResourceAccessException("order-service down"));
+
+        this.paymentService.save(dto);
+        Mockito.verify(this.orderSnapshotService).save(order);
+        // the payment is still saved; the sync backfills the snapshot later
+        assertEquals(1, this.paymentService.save(dto).getPaymentId());
+        Mockito.verify(this.orderSnapshotService, Mockito.times(1)).save(Mockito.any());
+    }
+
+    @Test
+    void testSaveInTransactionSnapshotsOrderOnlyAfterCommit() {
+        Mockito.when(this.paymentRepository.save(Mockito.any())).thenReturn(Payment.builder().paymentId(1).isPayed(false).orderId(2).build());
+        OrderDto order = OrderDto.builder().orderId(2).build();
+        Mockito.when(this.restTemplate.getForObject(Mockito.anyString(), Mockito.eq(OrderDto.class))).thenReturn(order);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            this.paymentService.save(PaymentDto.builder().isPayed(false).orderDto(OrderDto.builder().orderId(2).build()).build());
+            Mockito.verifyNoInteractions(this.restTemplate, this.orderSnapshotService);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            Mockito.verify(this.orderSnapshotService).save(order);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSyncRefreshesSnapshotsAndKeepsUnknownOrdersOutOfTheQueueHead() {
+        OrderSnapshotRepository repo = Mockito.mock(OrderSnapshotRepository.class);
         RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
-        PaymentServiceImpl service = new PaymentServiceImpl(repo, restTemplate);
-        service.deleteById(1);
-        Mockito.verify(repo).deleteById(1);
+        OrderSnapshotServiceImpl service = new OrderSnapshotServiceImpl(repo, restTemplate);
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(1);
+        Mockito.when(repo.findStaleOrderIds(Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class))).thenReturn(List.of(2, 5));
+        Mockito.when(repo.findAllById(List.of(2, 5))).thenReturn(List.of(
+                OrderSnapshot.builder().orderId(5).orderDesc("last known").syncedAt(longAgo).build()));
+        Mockito.when(restTemplate.exchange(Mockito.anyString(), Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class), Mockito.any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Map.of(2, OrderDto.builder().orderId(2).orderDesc("updated").build())));
+
+        assertEquals(2, service.syncStale(LocalDateTime.now(), 100));
+        Mockito.verify(repo).saveAll(Mockito.argThat((List<OrderSnapshot> saved) -> saved.size() == 2
+                && "updated".equals(saved.get(0).getOrderDesc())
+                && "last known".equals(saved.get(1).getOrderDesc())
+                && saved.stream().allMatch(o -> o.getSyncedAt().isAfter(longAgo))));
+    }
+
+    @Test
+    void testTransitionsFollowTheStateMachine() {
+        Payment payment = Payment.builder().paymentId(1).isPayed(false).paymentStatus(PaymentStatus.NOT_STARTED).orderId(2).build();
+        Mockito.when(this.paymentRepository.findById(1)).thenReturn(Optional.of(payment));
+        Mockito.when(this.paymentRepository.saveAndFlush(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(IllegalStateException.class, () -> this.paymentService.transition(1, PaymentTransition.COMPLETE, null));
+        assertEquals(PaymentStatus.IN_PROGRESS, this.paymentService.transition(1, PaymentTransition.START, null).getPaymentStatus());
+        PaymentDto completed = this.paymentService.transition(1, PaymentTransition.COMPLETE, null);
+        assertEquals(PaymentStatus.COMPLETED, completed.getPaymentStatus());
+        assertTrue(completed.getIsPayed());
+        assertThrows(IllegalStateException.class, () -> this.paymentService.transition(1, PaymentTransition.FAIL, null));
+        assertFalse(this.paymentService.transition(1, PaymentTransition.REFUND, null).getIsPayed());
+        // update follows the state machine too, one step at a time apart from the legacy NOT_STARTED -> COMPLETED
+        PaymentDto restart = PaymentDto.builder().paymentId(1).isPayed(false).paymentStatus(PaymentStatus.IN_PROGRESS)
+                .orderDto(OrderDto.builder().orderId(2).build()).build();
+        assertThrows(IllegalStateException.class, () -> this.paymentService.update(restart));
+        payment.setPaymentStatus(PaymentStatus.NOT_STARTED);
+        Mockito.when(this.paymentRepository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        PaymentDto refund = PaymentDto.builder().paymentId(1).isPayed(true).paymentStatus(PaymentStatus.REFUNDED)
+                .orderDto(OrderDto.builder().orderId(2).build()).build();
+        assertThrows(IllegalStateException.class, () -> this.paymentService.update(refund));
+        PaymentDto complete = PaymentDto.builder().paymentId(1).isPayed(false).paymentStatus(PaymentStatus.COMPLETED)
+                .orderDto(OrderDto.builder().orderId(2).build()).build();
+        // isPayed follows the status, whatever the DTO says
+        assertTrue(this.paymentService.update(complete).getIsPayed());
+        assertTrue(PaymentTransition.isUpdatable(PaymentStatus.NOT_STARTED, PaymentStatus.COMPLETED));
+        assertTrue(PaymentTransition.isUpdatable(null, PaymentStatus.FAILED));
+        assertFalse(PaymentTransition.isUpdatable(PaymentStatus.IN_PROGRESS, PaymentStatus.REFUNDED));
+        assertFalse(PaymentTransition.isUpdatable(PaymentStatus.FAILED, PaymentStatus.IN_PROGRESS));
+        assertEquals(PaymentTransition.START, PaymentTransition.of("start"));
+        assertThrows(IllegalArgumentException.class, () -> PaymentTransition.of("capture"));
+    }
+
+    @Test
+    void testRetriedTransitionIsReplayedFromTheKeyTable() {
+        Mockito.when(this.paymentRepository.findById(1)).thenReturn(Optional.of(
+                Payment.builder().paymentId(1).isPayed(false).paymentStatus(PaymentStatus.IN_PROGRESS).orderId(2).build()));
+        Mockito.when(this.paymentRepository.saveAndFlush(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(this.idempotencyKeyRepository.findById("retry-1")).thenReturn(Optional.empty());
+
+        assertEquals(PaymentStatus.COMPLETED, this.paymentService.transition(1, PaymentTransition.COMPLETE, "retry-1").getPaymentStatus());
+        Mockito.verify(this.idempotencyKeyRepository).saveAndFlush(Mockito.argThat((PaymentIdempotencyKey k) -> "retry-1".equals(k.getIdempotencyKey())
+                && k.getTransition() == PaymentTransition.COMPLETE && k.getPaymentStatus() == PaymentStatus.COMPLETED));
+
+        Mockito.when(this.idempotencyKeyRepository.findById("retry-1")).thenReturn(Optional.of(PaymentIdempotencyKey.builder().idempotencyKey("retry-1")
+                .paymentId(1).transition(PaymentTransition.COMPLETE).orderId(2).isPayed(true).paymentStatus(PaymentStatus.COMPLETED).build()));
+        PaymentDto replayed = this.paymentService.transition(1, PaymentTransition.COMPLETE, "retry-1");
+        assertEquals(PaymentStatus.COMPLETED, replayed.getPaymentStatus());
+        assertEquals(2, replayed.getOrderDto().getOrderId());
+        // the replay neither reads nor writes the payment again
+        Mockito.verify(this.paymentRepository, Mockito.times(1)).findById(1);
+        Mockito.verify(this.paymentRepository, Mockito.times(1)).saveAndFlush(Mockito.any());
+        assertThrows(IllegalArgumentException.class, () -> this.paymentService.transition(1, PaymentTransition.REFUND, "retry-1"));
+    }
+
+    @Test
+    void testUpdateWithOutdatedVersionIsRejected() {
+        Mockito.when(this.paymentRepository.findById(1)).thenReturn(Optional.of(Payment.builder().paymentId(1).isPayed(false)
+                .paymentStatus(PaymentStatus.NOT_STARTED).orderId(2).version(3).build()));
+        Mockito.when(this.paymentRepository.save(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        PaymentDto.PaymentDtoBuilder dto = PaymentDto.builder().paymentId(1).isPayed(true)
+                .paymentStatus(PaymentStatus.COMPLETED).orderDto(OrderDto.builder().orderId(2).build());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> this.paymentService.update(dto.version(2).build()));
+        Mockito.verify(this.paymentRepository, Mockito.never()).save(Mockito.any());
+        assertEquals(3, this.paymentService.update(dto.version(3).build()).getVersion());
+    }
+
+    @Test
+    void testConcurrentUseOfAnIdempotencyKeyIsAConflict() {
+        Mockito.when(this.paymentRepository.findById(1)).thenReturn(Optional.of(
+                Payment.builder().paymentId(1).isPayed(false).paymentStatus(PaymentStatus.IN_PROGRESS).orderId(2).build()));
+        Mockito.when(this.paymentRepository.saveAndFlush(Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(this.idempotencyKeyRepository.findById("retry-2")).thenReturn(Optional.empty());
+        Mockito.when(this.idempotencyKeyRepository.saveAndFlush(Mockito.any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> this.paymentService.transition(1, PaymentTransition.COMPLETE, "retry-2"));
+        assertTrue(PaymentIdempotencyKey.builder().idempotencyKey("retry-2").build().isNew());
     }
-}
\ No newline at end of file
+}
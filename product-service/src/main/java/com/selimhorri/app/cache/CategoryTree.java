@@ -0,0 +1,179 @@
+package com.selimhorri.app.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.cache.CategoryTreeProperties;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.helper.TransactionCallbackHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory materialized view of the category hierarchy.
+ * 
+ * Every category's ancestor path and descendant id set are precomputed, so both lookups
+ * are a single map read instead of one query per tree level. The hierarchy is loaded
+ * from the database on first use and again once older than {@link CategoryTreeProperties#getTtl()},
+ * which bounds staleness from writes on other instances. In between, this instance's category
+ * writes are applied to the in-memory node set after commit and the derived indexes are recomputed
+ * from memory. Readers always see a complete, immutable snapshot; while one reader reloads an
+ * expired snapshot the others keep serving it.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryTree {
+	
+	private final CategoryRepository categoryRepository;
+	private final CategoryTreeProperties properties;
+	private final AtomicBoolean reloading = new AtomicBoolean();
+	
+	private volatile Snapshot snapshot;
+	
+	/**
+	 * @return the path from the root down to and including the category, or empty if unknown
+	 */
+	public Optional<List<CategoryDto>> findAncestorPath(final Integer categoryId) {
+		return Optional.ofNullable(this.snapshot().paths.get(categoryId));
+	}
+	
+	/**
+	 * @return ids of the category and all categories below it, or empty if unknown
+	 */
+	public Optional<Set<Integer>> findSubtreeIds(final Integer categoryId) {
+		return Optional.ofNullable(this.snapshot().subtrees.get(categoryId));
+	}
+	
+	public void put(final CategoryDto categoryDto) {
+		final Integer parentCategoryId = Optional.ofNullable(categoryDto.getParentCategoryDto())
+				.map(CategoryDto::getCategoryId)
+				.orElse(null);
+		final CategoryDto node = CategoryDto.builder()
+				.categoryId(categoryDto.getCategoryId())
+				.categoryTitle(categoryDto.getCategoryTitle())
+				.imageUrl(categoryDto.getImageUrl())
+				.build();
+		TransactionCallbackHelper.afterCommit(() -> this.apply(nodes -> nodes.put(node.getCategoryId(), new Node(node, parentCategoryId))));
+	}
+	
+	/**
+	 * Removes the category together with its subtree, mirroring the cascade on {@code subCategories}
+	 */
+	public void remove(final Integer categoryId) {
+		TransactionCallbackHelper.afterCommit(() -> this.apply(nodes -> {
+			final Set<Integer> subtree = this.snapshot.subtrees.getOrDefault(categoryId, Set.of(categoryId));
+			nodes.keySet().removeAll(subtree);
+		}));
+	}
+	
+	private synchronized void apply(final Consumer<Map<Integer, Node>> change) {
+		if (this.snapshot == null)
+			return; // not loaded yet, the first read will see the committed rows
+		final Map<Integer, Node> nodes = new HashMap<>(this.snapshot.nodes);
+		change.accept(nodes);
+		// a local write does not make the rest of the snapshot any fresher
+		this.snapshot = new Snapshot(nodes, this.snapshot.loadedAt);
+	}
+	
+	private Snapshot snapshot() {
+		final Snapshot current = this.snapshot;
+		if (current == null)
+			return this.load(null);
+		if (current.isOlderThan(this.properties.getTtl()) && this.reloading.compareAndSet(false, true)) {
+			try {
+				return this.load(current);
+			}
+			catch (RuntimeException e) {
+				log.warn("*** CategoryTree; reload failed, serving the previous snapshot: {} *", e.getMessage());
+				return current;
+			}
+			finally {
+				this.reloading.set(false);
+			}
+		}
+		return current;
+	}
+	
+	/**
+	 * Loads the hierarchy unless another thread already replaced the expected snapshot
+	 */
+	private synchronized Snapshot load(final Snapshot expected) {
+		if (this.snapshot == expected) {
+			final Map<Integer, Node> nodes = new HashMap<>();
+			this.categoryRepository.findAllNodes().forEach(n -> nodes.put(n.getCategoryId(), new Node(
+					CategoryDto.builder()
+						.categoryId(n.getCategoryId())
+						.categoryTitle(n.getCategoryTitle())
+						.imageUrl(n.getImageUrl())
+						.build(),
+					n.getParentCategoryId())));
+			this.snapshot = new Snapshot(nodes, System.nanoTime());
+			log.info("*** CategoryTree; loaded {} categories *", nodes.size());
+		}
+		return this.snapshot;
+	}
+	
+	private static final class Node {
+		
+		private final CategoryDto category;
+		private final Integer parentCategoryId;
+		
+		private Node(final CategoryDto category, final Integer parentCategoryId) {
+			this.category = category;
+			this.parentCategoryId = parentCategoryId;
+		}
+	
+	}
+	
+	private static final class Snapshot {
+		
+		private final Map<Integer, Node> nodes;
+		private final long loadedAt;
+		private final Map<Integer, List<CategoryDto>> paths = new HashMap<>();
+		private final Map<Integer, Set<Integer>> subtrees = new HashMap<>();
+		
+		private Snapshot(final Map<Integer, Node> nodes, final long loadedAt) {
+			this.nodes = Collections.unmodifiableMap(nodes);
+			this.loadedAt = loadedAt;
+			final Map<Integer, Set<Integer>> subtrees = new HashMap<>();
+			nodes.keySet().forEach(id -> {
+				final List<CategoryDto> path = this.pathOf(id);
+				this.paths.put(id, Collections.unmodifiableList(path));
+				path.forEach(ancestor -> subtrees.computeIfAbsent(ancestor.getCategoryId(), k -> new HashSet<>()).add(id));
+			});
+			subtrees.forEach((id, subtree) -> this.subtrees.put(id, Collections.unmodifiableSet(subtree)));
+		}
+		
+		private boolean isOlderThan(final Duration ttl) {
+			return System.nanoTime() - this.loadedAt > ttl.toNanos();
+		}
+		
+		private List<CategoryDto> pathOf(final Integer categoryId) {
+			final List<CategoryDto> path = new ArrayList<>();
+			Node node = this.nodes.get(categoryId);
+			// bounded by the node count so a corrupt parent cycle cannot loop forever
+			while (node != null && path.size() <= this.nodes.size()) {
+				path.add(node.category);
+				node = node.parentCategoryId != null ? this.nodes.get(node.parentCategoryId) : null;
+			}
+			Collections.reverse(path);
+			return path;
+		}
+	
+	}
+	
+}
@@ -0,0 +1,70 @@
+package com.selimhorri.app.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.cache.ProductCacheProperties;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.TransactionCallbackHelper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, TTL-based cache of {@link ProductDto} by id.
+ * 
+ * Statistics are published alongside the {@code products.*} business metrics as
+ * {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} and {@code cache.size}
+ * tagged {@code cache=products}, which is enough to derive the hit ratio in Prometheus.
+ */
+@Component
+public class ProductCache {
+	
+	private final Cache<Integer, ProductDto> products;
+	
+	public ProductCache(final ProductCacheProperties properties, final MeterRegistry meterRegistry) {
+		this.products = Caffeine.newBuilder()
+				.expireAfterWrite(properties.getTtl())
+				.maximumSize(properties.getMaxSize())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.products, "products");
+	}
+	
+	public ProductDto get(final Integer productId, final Function<Integer, ProductDto> loader) {
+		return this.products.get(productId, loader);
+	}
+	
+	/**
+	 * Hands the ids missing from the cache to the loader in one call; ids the loader does not
+	 * return are left out of the result and not cached
+	 */
+	public Map<Integer, ProductDto> getAll(final Collection<Integer> productIds,
+			final Function<List<Integer>, Map<Integer, ProductDto>> loader) {
+		return this.products.getAll(productIds, missing -> {
+			final List<Integer> missingIds = new ArrayList<>();
+			missing.forEach(missingIds::add);
+			return loader.apply(missingIds);
+		});
+	}
+	
+	/**
+	 * Evicts after commit, so a concurrent reader cannot repopulate the entry with the pre-write row
+	 */
+	public void evict(final Integer productId) {
+		if (productId != null)
+			TransactionCallbackHelper.afterCommit(() -> this.products.invalidate(productId));
+	}
+	
+	public void evictAll() {
+		TransactionCallbackHelper.afterCommit(this.products::invalidateAll);
+	}
+	
+}
@@ -0,0 +1,24 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Tuning for the in-memory category hierarchy (see {@code category-tree.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "category-tree")
+@Data
+public class CategoryTreeProperties {
+	
+	/**
+	 * Age after which the hierarchy is reloaded from the database, bounding staleness from
+	 * writes on other instances or direct database changes
+	 */
+	private Duration ttl = Duration.ofMinutes(5);
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Tuning for the product read-through cache (see {@code product-cache.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "product-cache")
+@Data
+public class ProductCacheProperties {
+	
+	/**
+	 * Upper bound on staleness across instances, writes on this instance evict immediately
+	 */
+	private Duration ttl = Duration.ofMinutes(10);
+	
+	/**
+	 * Maximum number of cached products
+	 */
+	private long maxSize = 20_000;
+	
+}
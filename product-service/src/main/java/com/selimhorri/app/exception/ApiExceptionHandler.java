@@ -44,6 +44,7 @@ public class ApiExceptionHandler {
 	@ExceptionHandler(value = {
 		CategoryNotFoundException.class,
 		ProductNotFoundException.class,
+		IllegalArgumentException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
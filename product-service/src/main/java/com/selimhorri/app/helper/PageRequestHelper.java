@@ -0,0 +1,32 @@
+package com.selimhorri.app.helper;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public interface PageRequestHelper {
+	
+	String DEFAULT_PAGE_SIZE = "20";
+	int MAX_PAGE_SIZE = 500;
+	
+	public static Pageable pageOf(final int page, final int size, final String... sortProperties) {
+		return PageRequest.of(Math.max(page, 0), limitOf(size), Sort.by(sortProperties));
+	}
+	
+	public static int limitOf(final int size) {
+		return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,37 @@
+package com.selimhorri.app.helper;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public interface TransactionCallbackHelper {
+	
+	/**
+	 * Runs the action once the surrounding transaction commits (nothing on rollback), 
+	 * or immediately when no transaction synchronization is active
+	 */
+	public static void afterCommit(final Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,11 +1,50 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	@Override
+	@EntityGraph(attributePaths = "category")
+	List<Product> findAll();
+	
+	@Override
+	@EntityGraph(attributePaths = "category")
+	Optional<Product> findById(final Integer productId);
+	
+	@Override
+	@EntityGraph(attributePaths = "category")
+	List<Product> findAllById(final Iterable<Integer> productIds);
+	
+	@EntityGraph(attributePaths = "category")
+	Slice<Product> findAllBy(final Pageable pageable);
+	
+	@EntityGraph(attributePaths = "category")
+	Slice<Product> findByProductIdGreaterThanOrderByProductIdAsc(final Integer productId, final Pageable pageable);
+	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = AppConstant.STREAM_FETCH_SIZE))
+	@Query("SELECT p FROM Product p LEFT JOIN FETCH p.category ORDER BY p.productId")
+	Stream<Product> streamAllBy();
 	
+	@Query("SELECT p FROM Product p JOIN FETCH p.category c WHERE c.categoryId IN :categoryIds ORDER BY p.productId")
+	List<Product> findAllByCategoryIdIn(@Param("categoryIds") final Collection<Integer> categoryIds);
 	
 }
@@ -12,10 +12,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.CategoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,6 +38,24 @@ public class CategoryResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** CategoryDto Slice, controller; fetch categories page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.categoryService
+				.findAll(PageRequestHelper.pageOf(page, size, "categoryId"))));
+	}
+	
+	@GetMapping(params = {"after", "!page"})
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAllAfter(
+			@RequestParam("after") final Integer after, 
+			@RequestParam(value = "limit", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** CategoryDto Slice, controller; fetch categories after id *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.categoryService
+				.findAllAfter(after, PageRequestHelper.limitOf(limit)), CategoryDto::getCategoryId));
+	}
+	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
@@ -44,6 +65,33 @@ public class CategoryResource {
 		return ResponseEntity.ok(this.categoryService.findById(Integer.parseInt(categoryId)));
 	}
 	
+	@GetMapping("/{categoryId}/path")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findAncestorPath(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId) {
+		log.info("*** CategoryDto List, resource; fetch category ancestor path *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAncestorPath(Integer.parseInt(categoryId))));
+	}
+	
+	@GetMapping("/{categoryId}/descendants")
+	public ResponseEntity<DtoCollectionResponse<Integer>> findDescendantIds(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId) {
+		log.info("*** Integer Set, resource; fetch category descendant ids *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findDescendantIds(Integer.parseInt(categoryId))));
+	}
+	
+	@GetMapping("/{categoryId}/products")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllProductsInSubtree(
+			@PathVariable("categoryId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String categoryId) {
+		log.info("*** ProductDto List, resource; fetch products in category subtree *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAllProductsInSubtree(Integer.parseInt(categoryId))));
+	}
+	
 	@PostMapping
 	public ResponseEntity<CategoryDto> save(
 			@RequestBody 
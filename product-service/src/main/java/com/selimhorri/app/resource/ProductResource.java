@@ -1,9 +1,15 @@
 package com.selimhorri.app.resource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +18,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.ProductService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +38,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
@@ -35,6 +46,40 @@ public class ProductResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** ProductDto Slice, controller; fetch products page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.productService
+				.findAll(PageRequestHelper.pageOf(page, size, "productId"))));
+	}
+	
+	@GetMapping(params = {"after", "!page"})
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAllAfter(
+			@RequestParam("after") final Integer after, 
+			@RequestParam(value = "limit", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** ProductDto Slice, controller; fetch products after id *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.productService
+				.findAllAfter(after, PageRequestHelper.limitOf(limit)), ProductDto::getProductId));
+	}
+	
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> stream() {
+		log.info("*** ProductDto Stream, controller; stream all products *");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(outputStream -> this.productService.streamAll(productDto -> {
+					try {
+						outputStream.write(this.objectMapper.writeValueAsBytes(productDto));
+						outputStream.write('\n');
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}));
+	}
+	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(
 			@PathVariable("productId") 
@@ -44,6 +89,15 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.findById(Integer.parseInt(productId)));
 	}
 	
+	@PostMapping("/batch")
+	public ResponseEntity<Map<Integer, ProductDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final Set<Integer> productIds) {
+		log.info("*** ProductDto Map, resource; fetch products by ids *");
+		return ResponseEntity.ok(this.productService.findAllByIds(productIds));
+	}
+	
 	@PostMapping
 	public ResponseEntity<ProductDto> save(
 			@RequestBody 
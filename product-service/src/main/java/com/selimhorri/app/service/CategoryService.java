@@ -1,16 +1,26 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
 
 public interface CategoryService {
 	
 	List<CategoryDto> findAll();
+	Slice<CategoryDto> findAll(final Pageable pageable);
+	Slice<CategoryDto> findAllAfter(final Integer categoryId, final int limit);
 	CategoryDto findById(final Integer categoryId);
 	CategoryDto save(final CategoryDto categoryDto);
 	CategoryDto update(final CategoryDto categoryDto);
 	CategoryDto update(final Integer categoryId, final CategoryDto categoryDto);
 	void deleteById(final Integer categoryId);
+	List<CategoryDto> findAncestorPath(final Integer categoryId);
+	Set<Integer> findDescendantIds(final Integer categoryId);
+	List<ProductDto> findAllProductsInSubtree(final Integer categoryId);
 	
 }
@@ -1,13 +1,23 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.ProductDto;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
+	Slice<ProductDto> findAll(final Pageable pageable);
+	Slice<ProductDto> findAllAfter(final Integer productId, final int limit);
+	void streamAll(final Consumer<ProductDto> consumer);
 	ProductDto findById(final Integer productId);
+	Map<Integer, ProductDto> findAllByIds(final Collection<Integer> productIds);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
 	ProductDto update(final Integer productId, final ProductDto productDto);
@@ -1,16 +1,25 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.cache.CategoryTree;
+import com.selimhorri.app.cache.ProductCache;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.CategoryService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,6 +32,9 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryServiceImpl implements CategoryService {
 	
 	private final CategoryRepository categoryRepository;
+	private final ProductRepository productRepository;
+	private final ProductCache productCache;
+	private final CategoryTree categoryTree;
 	
 	@Override
 	public List<CategoryDto> findAll() {
@@ -34,6 +46,20 @@ public class CategoryServiceImpl implements CategoryService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<CategoryDto> findAll(final Pageable pageable) {
+		log.info("*** CategoryDto Slice, service; fetch categories page *");
+		return this.categoryRepository.findAllBy(pageable)
+				.map(CategoryMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<CategoryDto> findAllAfter(final Integer categoryId, final int limit) {
+		log.info("*** CategoryDto Slice, service; fetch categories after id *");
+		return this.categoryRepository.findByCategoryIdGreaterThanOrderByCategoryIdAsc(categoryId, PageRequest.of(0, limit))
+				.map(CategoryMappingHelper::map);
+	}
+	
 	@Override
 	public CategoryDto findById(final Integer categoryId) {
 		log.info("*** CategoryDto, service; fetch category by id *");
@@ -45,28 +71,69 @@ public class CategoryServiceImpl implements CategoryService {
 	@Override
 	public CategoryDto save(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; save category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto saved = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		this.categoryTree.put(saved);
+		return saved;
 	}
 	
 	@Override
 	public CategoryDto update(final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto updated = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(categoryDto)));
+		this.categoryTree.put(updated);
+		// cached products embed their category
+		this.productCache.evictAll();
+		return updated;
 	}
 	
 	@Override
 	public CategoryDto update(final Integer categoryId, final CategoryDto categoryDto) {
 		log.info("*** CategoryDto, service; update category with categoryId *");
-		return CategoryMappingHelper.map(this.categoryRepository
+		final CategoryDto updated = CategoryMappingHelper.map(this.categoryRepository
 				.save(CategoryMappingHelper.map(this.findById(categoryId))));
+		this.categoryTree.put(updated);
+		this.productCache.evictAll();
+		return updated;
 	}
 	
 	@Override
 	public void deleteById(final Integer categoryId) {
 		log.info("*** Void, service; delete category by id *");
 		this.categoryRepository.deleteById(categoryId);
+		this.categoryTree.remove(categoryId);
+		this.productCache.evictAll();
+	}
+	
+	@Override
+	public List<CategoryDto> findAncestorPath(final Integer categoryId) {
+		log.info("*** CategoryDto List, service; fetch category ancestor path *");
+		return this.categoryTree.findAncestorPath(categoryId)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
+	}
+	
+	@Override
+	public Set<Integer> findDescendantIds(final Integer categoryId) {
+		log.info("*** Integer Set, service; fetch category descendant ids *");
+		return this.findSubtreeIds(categoryId)
+				.stream()
+					.filter(id -> !id.equals(categoryId))
+					.collect(Collectors.toUnmodifiableSet());
+	}
+	
+	@Override
+	public List<ProductDto> findAllProductsInSubtree(final Integer categoryId) {
+		log.info("*** ProductDto List, service; fetch products in category subtree *");
+		return this.productRepository.findAllByCategoryIdIn(this.findSubtreeIds(categoryId))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private Set<Integer> findSubtreeIds(final Integer categoryId) {
+		return this.categoryTree.findSubtreeIds(categoryId)
+				.orElseThrow(() -> new CategoryNotFoundException(String.format("Category with id: %d not found", categoryId)));
 	}
 	
 	
@@ -1,14 +1,26 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.selimhorri.app.cache.ProductCache;
+import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.helper.BatchLookupHelper;
 import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.ProductService;
@@ -23,6 +35,10 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final ProductCache productCache;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
 	
 	@Override
 	public List<ProductDto> findAll() {
@@ -34,33 +50,80 @@ public class ProductServiceImpl implements ProductService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<ProductDto> findAll(final Pageable pageable) {
+		log.info("*** ProductDto Slice, service; fetch products page *");
+		return this.productRepository.findAllBy(pageable)
+				.map(ProductMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<ProductDto> findAllAfter(final Integer productId, final int limit) {
+		log.info("*** ProductDto Slice, service; fetch products after id *");
+		return this.productRepository.findByProductIdGreaterThanOrderByProductIdAsc(productId, PageRequest.of(0, limit))
+				.map(ProductMappingHelper::map);
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public void streamAll(final Consumer<ProductDto> consumer) {
+		log.info("*** ProductDto Stream, service; stream all products *");
+		try (final Stream<Product> products = this.productRepository.streamAllBy()) {
+			products.forEach(p -> {
+				consumer.accept(ProductMappingHelper.map(p));
+				// keep the persistence context from growing with the catalog
+				this.entityManager.detach(p);
+			});
+		}
+	}
+	
 	@Override
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
-		return this.productRepository.findById(productId)
+		return this.productCache.get(productId, id -> this.productRepository.findById(id)
 				.map(ProductMappingHelper::map)
-				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", productId)));
+				.orElseThrow(() -> new ProductNotFoundException(String.format("Product with id: %d not found", id))));
+	}
+	
+	/**
+	 * Serves cached products first and loads only the rest, in IN chunks
+	 */
+	@Override
+	public Map<Integer, ProductDto> findAllByIds(final Collection<Integer> productIds) {
+		log.info("*** ProductDto Map, service; fetch products by ids *");
+		return this.productCache.getAll(BatchLookupHelper.distinctIds(productIds), 
+				missingIds -> BatchLookupHelper.findAllInChunks(missingIds, chunk -> this.productRepository
+						.findAllById(chunk)
+						.stream()
+							.map(ProductMappingHelper::map)
+							.collect(Collectors.toList()), ProductDto::getProductId));
 	}
 	
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto saved = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.productCache.evict(saved.getProductId());
+		return saved;
 	}
 	
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto updated = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.productCache.evict(updated.getProductId());
+		return updated;
 	}
 	
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto updated = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(this.findById(productId))));
+		this.productCache.evict(productId);
+		return updated;
 	}
 	
 	@Override
@@ -68,6 +131,7 @@ public class ProductServiceImpl implements ProductService {
 		log.info("*** Void, service; delete product by id *");
 		this.productRepository.delete(ProductMappingHelper
 				.map(this.findById(productId)));
+		this.productCache.evict(productId);
 	}
 	
 	
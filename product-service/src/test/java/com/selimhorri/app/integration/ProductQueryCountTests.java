@@ -0,0 +1,119 @@
+package com.selimhorri.app.integration;
+
+import com.selimhorri.app.cache.CategoryTree;
+import com.selimhorri.app.cache.ProductCache;
+import com.selimhorri.app.config.cache.CategoryTreeProperties;
+import com.selimhorri.app.config.cache.ProductCacheProperties;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.helper.PageRequestHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.impl.CategoryServiceImpl;
+import com.selimhorri.app.service.impl.ProductServiceImpl;
+import com.selimhorri.app.support.SqlStatementCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.selimhorri.app.dto.ProductDto;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of SQL statements per read path against the Flyway schema, with a
+ * three-level category chain above every product so EAGER or lazy N+1 loads would show up.
+ */
+@DataJpaTest
+class ProductQueryCountTests {
+
+    private static final long MAX_LISTING_STATEMENTS = 1;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private SqlStatementCounter counter;
+    private ProductServiceImpl productService;
+    private CategoryServiceImpl categoryService;
+    private Integer productId;
+    private Integer leafCategoryId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            Category root = entityManager.persist(Category.builder().categoryTitle("root-" + i).build());
+            Category child = entityManager.persist(Category.builder().categoryTitle("child-" + i).parentCategory(root).build());
+            Category leaf = entityManager.persist(Category.builder().categoryTitle("leaf-" + i).parentCategory(child).build());
+            Product product = entityManager.persist(Product.builder().productTitle("product-" + i).sku("query-count-" + i)
+                    .priceUnit(1.0).quantity(1).category(leaf).build());
+            productId = product.getProductId();
+            leafCategoryId = leaf.getCategoryId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ProductCache productCache = new ProductCache(new ProductCacheProperties(), new SimpleMeterRegistry());
+        counter = SqlStatementCounter.of(entityManagerFactory);
+        productService = new ProductServiceImpl(productRepository, productCache);
+        ReflectionTestUtils.setField(productService, "entityManager", entityManager.getEntityManager());
+        categoryService = new CategoryServiceImpl(categoryRepository, productRepository, productCache, new CategoryTree(categoryRepository, new CategoryTreeProperties()));
+    }
+
+    @Test
+    void testProductListingIsSingleStatement() {
+        assertFalse(counter.assertAtMost(MAX_LISTING_STATEMENTS, productService::findAll).isEmpty());
+    }
+
+    @Test
+    void testProductPageIsSingleStatement() {
+        assertTrue(counter.assertAtMost(MAX_LISTING_STATEMENTS,
+                () -> productService.findAll(PageRequestHelper.pageOf(0, 5, "productId"))).hasNext());
+    }
+
+    @Test
+    void testProductByIdIsSingleStatement() {
+        assertEquals(productId, counter.assertAtMost(1, () -> productService.findById(productId)).getProductId());
+    }
+
+    @Test
+    void testCategoryListingIsSingleStatement() {
+        assertFalse(counter.assertAtMost(MAX_LISTING_STATEMENTS, categoryService::findAll).isEmpty());
+    }
+
+    @Test
+    void testCategoryByIdIsSingleStatement() {
+        assertNotNull(counter.assertAtMost(1, () -> categoryService.findById(leafCategoryId)).getParentCategoryDto().getCategoryTitle());
+    }
+
+    @Test
+    void testSubtreeProductsIsTreeLoadPlusOneStatement() {
+        assertEquals(1, counter.assertAtMost(2, () -> categoryService.findAllProductsInSubtree(leafCategoryId)).size());
+    }
+
+    @Test
+    void testStreamVisitsEveryProductInOneStatement() {
+        List<ProductDto> streamed = new ArrayList<>();
+        counter.assertAtMost(MAX_LISTING_STATEMENTS, () -> {
+            productService.streamAll(streamed::add);
+            return streamed;
+        });
+        assertEquals(productRepository.count(), streamed.size());
+        assertTrue(streamed.stream().allMatch(p -> p.getCategoryDto() != null));
+        for (int i = 1; i < streamed.size(); i++)
+            assertTrue(streamed.get(i - 1).getProductId() < streamed.get(i).getProductId());
+    }
+}
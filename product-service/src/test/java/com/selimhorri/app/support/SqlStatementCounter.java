@@ -0,0 +1,35 @@
+package com.selimhorri.app.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import javax.persistence.EntityManagerFactory;
+import java.util.function.Supplier;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while an action runs, so tests can pin
+ * the number of queries a code path is allowed to issue and catch N+1 regressions.
+ */
+public final class SqlStatementCounter {
+
+    private final Statistics statistics;
+
+    private SqlStatementCounter(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public static SqlStatementCounter of(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        return new SqlStatementCounter(statistics);
+    }
+
+    public <T> T assertAtMost(long maxStatements, Supplier<T> action) {
+        statistics.clear();
+        T result = action.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements,
+                () -> String.format("expected at most %d SQL statement(s) but %d were issued", maxStatements, statements));
+        return result;
+    }
+}
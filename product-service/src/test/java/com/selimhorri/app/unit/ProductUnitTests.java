@@ -1,19 +1,46 @@
 package com.selimhorri.app.unit;
 
+import com.selimhorri.app.cache.CategoryTree;
+import com.selimhorri.app.cache.ProductCache;
+import com.selimhorri.app.config.cache.CategoryTreeProperties;
+import com.selimhorri.app.config.cache.ProductCacheProperties;
 import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
 import com.selimhorri.app.repository.ProductRepository;
 import com.selimhorri.app.service.impl.ProductServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProductUnitTests {
 
+    private static ProductCache productCache() {
+        return new ProductCache(new ProductCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    private static CategoryRepository.CategoryNode node(Integer categoryId, Integer parentCategoryId) {
+        return new CategoryRepository.CategoryNode() {
+            public Integer getCategoryId() { return categoryId; }
+            public String getCategoryTitle() { return "Category " + categoryId; }
+            public String getImageUrl() { return null; }
+            public Integer getParentCategoryId() { return parentCategoryId; }
+        };
+    }
+
 
     @Test
     void testMapProductToDto() {
@@ -40,7 +67,7 @@ class ProductUnitTests {
     @Test
     void testSaveCallsRepository() {
         ProductRepository repo = Mockito.mock(ProductRepository.class);
-        ProductServiceImpl service = new ProductServiceImpl(repo);
+        ProductServiceImpl service = new ProductServiceImpl(repo, productCache());
         ProductDto dto = ProductDto.builder().productId(10).productTitle("Test").priceUnit(99.99).categoryDto(CategoryDto.builder().categoryId(1).build()).build();
         Product entity = ProductMappingHelper.map(dto);
         Mockito.when(repo.save(Mockito.any())).thenReturn(entity);
@@ -52,7 +79,7 @@ class ProductUnitTests {
     @Test
     void testUpdateCallsRepository() {
         ProductRepository repo = Mockito.mock(ProductRepository.class);
-        ProductServiceImpl service = new ProductServiceImpl(repo);
+        ProductServiceImpl service = new ProductServiceImpl(repo, productCache());
         ProductDto dto = ProductDto.builder().productId(10).productTitle("Test").priceUnit(99.99).categoryDto(CategoryDto.builder().categoryId(1).build()).build();
         Product entity = ProductMappingHelper.map(dto);
         Mockito.when(repo.save(Mockito.any())).thenReturn(entity);
@@ -64,9 +91,90 @@ class ProductUnitTests {
     @Test
     void testFindAllReturnsList() {
         ProductRepository repo = Mockito.mock(ProductRepository.class);
-        ProductServiceImpl service = new ProductServiceImpl(repo);
+        ProductServiceImpl service = new ProductServiceImpl(repo, productCache());
         Product product = Product.builder().productId(10).productTitle("Test").priceUnit(99.99).category(Category.builder().categoryId(1).build()).build();
         Mockito.when(repo.findAll()).thenReturn(Collections.singletonList(product));
         assertFalse(service.findAll().isEmpty());
     }
-}
\ No newline at end of file
+
+
+    @Test
+    void testFindAllAfterReturnsNextCursor() {
+        ProductRepository repo = Mockito.mock(ProductRepository.class);
+        ProductServiceImpl service = new ProductServiceImpl(repo, productCache());
+        Category category = Category.builder().categoryId(1).build();
+        List<Product> products = List.of(
+                Product.builder().productId(11).category(category).build(),
+                Product.builder().productId(12).category(category).build());
+        Mockito.when(repo.findByProductIdGreaterThanOrderByProductIdAsc(10, PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(products, PageRequest.of(0, 2), true));
+        DtoCollectionResponse<ProductDto> response = DtoCollectionResponse.of(service.findAllAfter(10, 2), ProductDto::getProductId);
+        assertEquals(2, response.getCollection().size());
+        assertTrue(response.getHasNext());
+        assertEquals("12", response.getNextCursor());
+    }
+
+
+    @Test
+    void testFindByIdIsCachedUntilUpdate() {
+        ProductRepository repo = Mockito.mock(ProductRepository.class);
+        ProductServiceImpl service = new ProductServiceImpl(repo, productCache());
+        Product product = Product.builder().productId(10).productTitle("Test").priceUnit(99.99).category(Category.builder().categoryId(1).build()).build();
+        Mockito.when(repo.findById(10)).thenReturn(Optional.of(product));
+        Mockito.when(repo.save(Mockito.any())).thenReturn(product);
+        service.findById(10);
+        service.findById(10);
+        Mockito.verify(repo, Mockito.times(1)).findById(10);
+        service.update(ProductMappingHelper.map(product));
+        service.findById(10);
+        Mockito.verify(repo, Mockito.times(2)).findById(10);
+    }
+
+
+    @Test
+    void testFindAllByIdsLoadsOnlyUncachedProducts() {
+        ProductRepository repo = Mockito.mock(ProductRepository.class);
+        ProductServiceImpl service = new ProductServiceImpl(repo, productCache());
+        Category category = Category.builder().categoryId(1).build();
+        Mockito.when(repo.findById(10)).thenReturn(Optional.of(Product.builder().productId(10).category(category).build()));
+        Mockito.when(repo.findAllById(Mockito.anyIterable()))
+                .thenReturn(List.of(Product.builder().productId(11).category(category).build()));
+        service.findById(10);
+        var result = service.findAllByIds(Set.of(10, 11, 12));
+        assertEquals(Set.of(10, 11), result.keySet());
+        Mockito.verify(repo, Mockito.times(1)).findAllById(Mockito.argThat(ids -> Set.copyOf((List<Integer>) ids).equals(Set.of(11, 12))));
+    }
+
+
+    @Test
+    void testCategoryTreeResolvesPathsAndSubtreesFromOneLoad() {
+        CategoryRepository repo = Mockito.mock(CategoryRepository.class);
+        Mockito.when(repo.findAllNodes()).thenReturn(List.of(node(1, null), node(2, 1), node(3, 2), node(4, 1)));
+        CategoryTree tree = new CategoryTree(repo, new CategoryTreeProperties());
+        assertEquals(List.of(1, 2, 3), tree.findAncestorPath(3).orElseThrow()
+                .stream().map(CategoryDto::getCategoryId).collect(Collectors.toList()));
+        assertEquals(Set.of(1, 2, 3, 4), tree.findSubtreeIds(1).orElseThrow());
+        tree.put(CategoryDto.builder().categoryId(5).parentCategoryDto(CategoryDto.builder().categoryId(3).build()).build());
+        assertEquals(Set.of(2, 3, 5), tree.findSubtreeIds(2).orElseThrow());
+        tree.remove(2);
+        assertEquals(Set.of(1, 4), tree.findSubtreeIds(1).orElseThrow());
+        assertTrue(tree.findAncestorPath(5).isEmpty());
+        Mockito.verify(repo, Mockito.times(1)).findAllNodes();
+    }
+
+    @Test
+    void testCategoryTreeReloadsOnceExpired() {
+        CategoryRepository repo = Mockito.mock(CategoryRepository.class);
+        Mockito.when(repo.findAllNodes())
+                .thenReturn(List.of(node(1, null)))
+                .thenReturn(List.of(node(1, null), node(2, 1)));
+        CategoryTreeProperties properties = new CategoryTreeProperties();
+        CategoryTree tree = new CategoryTree(repo, properties);
+        assertEquals(Set.of(1), tree.findSubtreeIds(1).orElseThrow());
+        // written by another instance, invisible until the snapshot expires
+        assertTrue(tree.findAncestorPath(2).isEmpty());
+        properties.setTtl(Duration.ZERO);
+        assertEquals(Set.of(1, 2), tree.findSubtreeIds(1).orElseThrow());
+        Mockito.verify(repo, Mockito.times(2)).findAllNodes();
+    }
+}
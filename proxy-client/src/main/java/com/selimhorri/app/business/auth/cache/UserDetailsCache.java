@@ -0,0 +1,97 @@
+package com.selimhorri.app.business.auth.cache;
+
+import java.util.Optional;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.config.cache.UserDetailsCacheProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded TTL cache of {@link UserDetails} by username for the JWT request filter.
+ * 
+ * Unknown usernames are cached as well (negative caching) with their own, shorter TTL,
+ * so a stream of requests with a token for a deleted account does not reach USER-SERVICE
+ * every time. Login still goes through the uncached {@link UserDetailsService}, so a
+ * changed password takes effect immediately there; disabled or changed credentials are
+ * picked up here on expiry or through the eviction endpoint.
+ * 
+ * Published as {@code cache.*} meters tagged {@code cache=proxy.user-details}, plus
+ * {@code proxy.user-details.negative.hits} for lookups answered by a negative entry.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+	
+	private final UserDetailsService userDetailsService;
+	private final Cache<String, Optional<UserDetails>> users;
+	private final Counter negativeHits;
+	
+	public UserDetailsCache(final UserDetailsService userDetailsService, final UserDetailsCacheProperties properties,
+			final MeterRegistry meterRegistry) {
+		this.userDetailsService = userDetailsService;
+		this.users = Caffeine.newBuilder()
+				.expireAfter(new Expiry<String, Optional<UserDetails>>() {
+					@Override
+					public long expireAfterCreate(final String username, final Optional<UserDetails> user, final long currentTime) {
+						return (user.isPresent() ? properties.getTtl() : properties.getNegativeTtl()).toNanos();
+					}
+					@Override
+					public long expireAfterUpdate(final String username, final Optional<UserDetails> user, final long currentTime,
+							final long currentDuration) {
+						return this.expireAfterCreate(username, user, currentTime);
+					}
+					@Override
+					public long expireAfterRead(final String username, final Optional<UserDetails> user, final long currentTime,
+							final long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.maximumSize(properties.getMaxSize())
+				.recordStats()
+				.build();
+		this.negativeHits = Counter.builder("proxy.user-details.negative.hits")
+				.description("Lookups answered from a cached unknown-username entry")
+				.register(meterRegistry);
+		CaffeineCacheMetrics.monitor(meterRegistry, this.users, "proxy.user-details");
+	}
+	
+	/**
+	 * @return the user, or empty if USER-SERVICE does not know the username
+	 */
+	public Optional<UserDetails> find(final String username) {
+		final boolean[] loaded = {false};
+		final Optional<UserDetails> user = this.users.get(username, key -> {
+			loaded[0] = true;
+			try {
+				return Optional.of(this.userDetailsService.loadUserByUsername(key));
+			}
+			catch (UsernameNotFoundException e) {
+				log.debug("Caching unknown username {}", key);
+				return Optional.empty();
+			}
+		});
+		if (user.isEmpty() && !loaded[0])
+			this.negativeHits.increment();
+		return user;
+	}
+	
+	public void evict(final String username) {
+		this.users.invalidate(username);
+	}
+	
+	public void evictAll() {
+		this.users.invalidateAll();
+	}
+	
+}
@@ -1,5 +1,6 @@
 package com.selimhorri.app.business.auth.controller;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -11,9 +12,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.auth.limit.AuthenticationThrottle;
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.config.auth.AuthenticationLimitProperties;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,13 +28,17 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthenticationController {
 	
 	private final AuthenticationService authenticationService;
+	private final AuthenticationThrottle authenticationThrottle;
+	private final AuthenticationLimitProperties authenticationLimitProperties;
 	
 	@PostMapping
 	public ResponseEntity<AuthenticationResponse> authenticate(
 			@RequestBody 
 			@NotNull(message = "") 
-			@Valid final AuthenticationRequest authenticationRequest) {
+			@Valid final AuthenticationRequest authenticationRequest, 
+			final HttpServletRequest request) {
 		log.info("**Authentication controller, proceed with the request*\n");
+		this.authenticationThrottle.acquire(authenticationRequest.getUsername(), this.clientIp(request));
 		return ResponseEntity.ok(this.authenticationService.authenticate(authenticationRequest));
 	}
 	
@@ -41,6 +48,19 @@ public class AuthenticationController {
 		return ResponseEntity.ok(this.authenticationService.authenticate(jwt));
 	}
 	
+	/**
+	 * Each trusted proxy appends the address it saw to X-Forwarded-For, so the caller is the entry 
+	 * {@code authentication.trusted-proxies} from the right; anything before it is client-controlled
+	 */
+	private String clientIp(final HttpServletRequest request) {
+		final int trustedProxies = this.authenticationLimitProperties.getTrustedProxies();
+		final String forwardedFor = request.getHeader("X-Forwarded-For");
+		if (trustedProxies <= 0 || forwardedFor == null || forwardedFor.isBlank())
+			return request.getRemoteAddr();
+		final String[] hops = forwardedFor.split(",");
+		return hops[Math.max(0, hops.length - trustedProxies)].trim();
+	}
+	
 	
 	
 }
@@ -0,0 +1,52 @@
+package com.selimhorri.app.business.auth.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.auth.cache.UserDetailsCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lets operators drop cached credentials after a user is disabled or changed, 
+ * admin only through the {@code /actuator/**} rule in SecurityConfig
+ */
+@RestController
+@RequestMapping("/actuator/user-details-cache")
+@Slf4j
+@RequiredArgsConstructor
+public class UserDetailsCacheController {
+	
+	private final UserDetailsCache userDetailsCache;
+	
+	@DeleteMapping("/{username}")
+	public ResponseEntity<Boolean> evict(@PathVariable("username") final String username) {
+		log.info("**Boolean, controller; evict cached user details*\n");
+		this.userDetailsCache.evict(username);
+		return ResponseEntity.ok(true);
+	}
+	
+	@DeleteMapping
+	public ResponseEntity<Boolean> evictAll() {
+		log.info("**Boolean, controller; evict all cached user details*\n");
+		this.userDetailsCache.evictAll();
+		return ResponseEntity.ok(true);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,75 @@
+package com.selimhorri.app.business.auth.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.config.auth.AuthenticationLimitProperties;
+import com.selimhorri.app.exception.wrapper.AuthenticationThrottledException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fixed-window attempt counters per username and per client IP for {@code /api/authenticate}.
+ * 
+ * Checked before any password is verified, so a credential-stuffing burst is turned away
+ * without spending BCrypt time on it. A window starts with the first attempt for a key and
+ * ends {@code authentication.window} later. Rejections are counted in
+ * {@code proxy.auth.throttled}, tagged {@code key=username|ip}.
+ */
+@Component
+@Slf4j
+public class AuthenticationThrottle {
+	
+	private final AuthenticationLimitProperties properties;
+	private final Cache<String, AtomicInteger> usernameAttempts;
+	private final Cache<String, AtomicInteger> ipAttempts;
+	private final Counter usernameRejections;
+	private final Counter ipRejections;
+	
+	public AuthenticationThrottle(final AuthenticationLimitProperties properties, final MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.usernameAttempts = newWindow(properties);
+		this.ipAttempts = newWindow(properties);
+		this.usernameRejections = Counter.builder("proxy.auth.throttled")
+				.description("Login attempts rejected by the per-key throttle")
+				.tag("key", "username")
+				.register(meterRegistry);
+		this.ipRejections = Counter.builder("proxy.auth.throttled")
+				.description("Login attempts rejected by the per-key throttle")
+				.tag("key", "ip")
+				.register(meterRegistry);
+	}
+	
+	private static Cache<String, AtomicInteger> newWindow(final AuthenticationLimitProperties properties) {
+		return Caffeine.newBuilder()
+				.expireAfterWrite(properties.getWindow())
+				.maximumSize(properties.getMaxTrackedKeys())
+				.build();
+	}
+	
+	/**
+	 * Records one attempt for both keys
+	 * 
+	 * @throws AuthenticationThrottledException if either key is over its limit for the current window
+	 */
+	public void acquire(final String username, final String clientIp) {
+		if (clientIp != null && this.ipAttempts.get(clientIp, key -> new AtomicInteger())
+				.incrementAndGet() > this.properties.getMaxAttemptsPerIp()) {
+			log.warn("Throttling login attempts from {}", clientIp);
+			this.ipRejections.increment();
+			throw new AuthenticationThrottledException("#### Too many authentication attempts, try again later! ####");
+		}
+		if (username != null && this.usernameAttempts.get(username, key -> new AtomicInteger())
+				.incrementAndGet() > this.properties.getMaxAttemptsPerUsername()) {
+			log.warn("Throttling login attempts for username {}", username);
+			this.usernameRejections.increment();
+			throw new AuthenticationThrottledException("#### Too many authentication attempts, try again later! ####");
+		}
+	}
+	
+}
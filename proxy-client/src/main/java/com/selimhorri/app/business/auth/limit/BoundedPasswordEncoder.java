@@ -0,0 +1,100 @@
+package com.selimhorri.app.business.auth.limit;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.selimhorri.app.config.auth.AuthenticationLimitProperties;
+import com.selimhorri.app.exception.wrapper.AuthenticationThrottledException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link PasswordEncoder} decorator that caps how many BCrypt verifications and hashes run at once.
+ * Hashing shares the cap since a successful login re-hashes a password stored with a lower cost.
+ * 
+ * BCrypt is deliberately CPU-bound, so a login storm would otherwise occupy every request
+ * thread and starve regular traffic. Logins beyond {@code authentication.max-concurrent-verifications}
+ * wait up to {@code authentication.max-queue-wait} for a slot and are then rejected with
+ * {@link AuthenticationThrottledException}.
+ * 
+ * Published as {@code proxy.auth.password.queue} (time waited for a slot, tagged
+ * {@code outcome=acquired|rejected}), {@code proxy.auth.password.verify} (time spent verifying),
+ * {@code proxy.auth.password.encode} (time spent hashing) and {@code proxy.auth.password.waiting}
+ * (logins currently waiting).
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+	
+	private final PasswordEncoder delegate;
+	private final Semaphore permits;
+	private final long maxQueueWaitNanos;
+	private final Timer acquired;
+	private final Timer rejected;
+	private final Timer verify;
+	private final Timer encode;
+	
+	public BoundedPasswordEncoder(final PasswordEncoder delegate, final AuthenticationLimitProperties properties,
+			final MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.permits = new Semaphore(properties.getMaxConcurrentVerifications(), true);
+		this.maxQueueWaitNanos = properties.getMaxQueueWait().toNanos();
+		this.acquired = Timer.builder("proxy.auth.password.queue")
+				.description("Time a login waited for a password verification slot")
+				.tag("outcome", "acquired")
+				.register(meterRegistry);
+		this.rejected = Timer.builder("proxy.auth.password.queue")
+				.description("Time a login waited for a password verification slot")
+				.tag("outcome", "rejected")
+				.register(meterRegistry);
+		this.verify = Timer.builder("proxy.auth.password.verify")
+				.description("Time spent verifying a password hash")
+				.register(meterRegistry);
+		this.encode = Timer.builder("proxy.auth.password.encode")
+				.description("Time spent hashing a password")
+				.register(meterRegistry);
+		Gauge.builder("proxy.auth.password.waiting", this.permits, Semaphore::getQueueLength)
+				.description("Logins waiting for a password verification slot")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public String encode(final CharSequence rawPassword) {
+		return this.bounded(this.encode, () -> this.delegate.encode(rawPassword));
+	}
+	
+	@Override
+	public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+		return this.bounded(this.verify, () -> this.delegate.matches(rawPassword, encodedPassword));
+	}
+	
+	@Override
+	public boolean upgradeEncoding(final String encodedPassword) {
+		return this.delegate.upgradeEncoding(encodedPassword);
+	}
+	
+	private <T> T bounded(final Timer work, final Supplier<T> task) {
+		final long start = System.nanoTime();
+		try {
+			if (!this.permits.tryAcquire(this.maxQueueWaitNanos, TimeUnit.NANOSECONDS)) {
+				this.rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				throw new AuthenticationThrottledException("#### Authentication is busy, try again later! ####");
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AuthenticationThrottledException("#### Authentication was interrupted! ####", e);
+		}
+		this.acquired.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		try {
+			return work.record(task);
+		}
+		finally {
+			this.permits.release();
+		}
+	}
+	
+}
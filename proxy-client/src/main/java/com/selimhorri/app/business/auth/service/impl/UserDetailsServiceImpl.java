@@ -1,9 +1,12 @@
 package com.selimhorri.app.business.auth.service.impl;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.business.user.model.CredentialDto;
@@ -16,7 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 	
 	private static final String API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials";
 	private final RestTemplate restTemplate;
@@ -24,7 +27,40 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		log.info("**UserDetails, load user by username*\n");
-		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
+		final CredentialDto credential;
+		try {
+			credential = this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class);
+		}
+		catch (HttpClientErrorException.NotFound | HttpClientErrorException.BadRequest e) {
+			// USER-SERVICE answers an unknown username with a 400; any other 4xx is not about the 
+			// username and must not end up in the negative cache, so it propagates as is
+			throw new UsernameNotFoundException(String.format("User with username: %s not found", username), e);
+		}
+		if (credential == null)
+			throw new UsernameNotFoundException(String.format("User with username: %s not found", username));
+		return new UserDetailsImpl(credential);
+	}
+	
+	/**
+	 * Called after a successful login whose stored hash is weaker than the configured BCrypt cost. 
+	 * A failed write only postpones the upgrade to the next login, it never fails the login itself.
+	 */
+	@Override
+	public UserDetails updatePassword(final UserDetails user, final String newPassword) {
+		log.info("**UserDetails, re-hash password with the configured cost*\n");
+		try {
+			final CredentialDto credential = this.restTemplate
+					.getForObject(API_URL + "/username/" + user.getUsername(), CredentialDto.class);
+			if (credential == null)
+				return user;
+			credential.setPassword(newPassword);
+			this.restTemplate.put(API_URL, credential);
+			return new UserDetailsImpl(credential);
+		}
+		catch (RestClientException e) {
+			log.warn("Could not re-hash password of {}: {}", user.getUsername(), e.getMessage());
+			return user;
+		}
 	}
 	
 	
@@ -1,5 +1,6 @@
 package com.selimhorri.app.business.favourite.controller;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +19,7 @@ import com.selimhorri.app.business.favourite.service.FavouriteClientService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@ConditionalOnProperty(prefix = "reactive", name = "favourites", havingValue = "false", matchIfMissing = true)
 @RequestMapping("/api/favourites")
 @RequiredArgsConstructor
 public class FavouriteController {
@@ -0,0 +1,79 @@
+package com.selimhorri.app.business.favourite.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.favourite.model.FavouriteId;
+import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
+import com.selimhorri.app.business.favourite.service.FavouriteWebClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Replaces {@link FavouriteController} when {@code reactive.favourites=true}; the servlet thread is
+ * released while FAVOURITE-SERVICE is working
+ */
+@RestController
+@ConditionalOnProperty(prefix = "reactive", name = "favourites", havingValue = "true")
+@RequestMapping("/api/favourites")
+@RequiredArgsConstructor
+public class FavouriteReactiveController {
+	
+	private final FavouriteWebClientService favouriteWebClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse>> findAll() {
+		return this.favouriteWebClientService.findAll().map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{userId}/{productId}/{likeDate}")
+	public Mono<ResponseEntity<FavouriteDto>> findById(
+			@PathVariable("userId") final String userId, 
+			@PathVariable("productId") final String productId, 
+			@PathVariable("likeDate") final String likeDate) {
+		return this.favouriteWebClientService.findById(userId, productId, likeDate).map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/find")
+	public Mono<ResponseEntity<FavouriteDto>> findById(@RequestBody final FavouriteId favouriteId) {
+		return this.favouriteWebClientService.findById(favouriteId).map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<FavouriteDto>> save(@RequestBody final FavouriteDto favouriteDto) {
+		return this.favouriteWebClientService.save(favouriteDto).map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<FavouriteDto>> update(@RequestBody final FavouriteDto favouriteDto) {
+		return this.favouriteWebClientService.update(favouriteDto).map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{userId}/{productId}/{likeDate}")
+	public Mono<ResponseEntity<Boolean>> deleteById(
+			@PathVariable("userId") final String userId, 
+			@PathVariable("productId") final String productId, 
+			@PathVariable("likeDate") final String likeDate) {
+		return this.favouriteWebClientService.deleteById(userId, productId, likeDate)
+				.then(Mono.just(ResponseEntity.ok(true)));
+	}
+	
+	@DeleteMapping("/delete")
+	public Mono<ResponseEntity<Boolean>> deleteById(@RequestBody final FavouriteId favouriteId) {
+		return this.favouriteWebClientService.deleteById(favouriteId)
+				.then(Mono.just(ResponseEntity.ok(true)));
+	}
+	
+	
+	
+}
@@ -0,0 +1,82 @@
+package com.selimhorri.app.business.favourite.service;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.favourite.model.FavouriteId;
+import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link FavouriteClientService}; 4xx/5xx answers surface as
+ * {@code WebClientResponseException}
+ */
+@Service
+public class FavouriteWebClientService {
+	
+	private final WebClient webClient;
+	
+	public FavouriteWebClientService(@LoadBalanced final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.FAVOURITE_SERVICE_API_URL)
+				.build();
+	}
+	
+	public Mono<FavouriteFavouriteServiceCollectionDtoResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(FavouriteFavouriteServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<FavouriteDto> findById(final String userId, final String productId, final String likeDate) {
+		return this.webClient.get()
+				.uri("/{userId}/{productId}/{likeDate}", userId, productId, likeDate)
+				.retrieve()
+				.bodyToMono(FavouriteDto.class);
+	}
+	
+	public Mono<FavouriteDto> findById(final FavouriteId favouriteId) {
+		return this.webClient.method(HttpMethod.GET)
+				.uri("/find")
+				.bodyValue(favouriteId)
+				.retrieve()
+				.bodyToMono(FavouriteDto.class);
+	}
+	
+	public Mono<FavouriteDto> save(final FavouriteDto favouriteDto) {
+		return this.webClient.post()
+				.bodyValue(favouriteDto)
+				.retrieve()
+				.bodyToMono(FavouriteDto.class);
+	}
+	
+	public Mono<FavouriteDto> update(final FavouriteDto favouriteDto) {
+		return this.webClient.put()
+				.bodyValue(favouriteDto)
+				.retrieve()
+				.bodyToMono(FavouriteDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String userId, final String productId, final String likeDate) {
+		return this.webClient.delete()
+				.uri("/{userId}/{productId}/{likeDate}", userId, productId, likeDate)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	public Mono<Boolean> deleteById(final FavouriteId favouriteId) {
+		return this.webClient.method(HttpMethod.DELETE)
+				.uri("/delete")
+				.bodyValue(favouriteId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
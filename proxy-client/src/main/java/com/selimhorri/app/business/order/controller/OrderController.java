@@ -4,6 +4,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,6 +22,7 @@ import com.selimhorri.app.business.order.service.OrderClientService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@ConditionalOnProperty(prefix = "reactive", name = "orders", havingValue = "false", matchIfMissing = true)
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
@@ -0,0 +1,85 @@
+package com.selimhorri.app.business.order.controller;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.service.OrderWebClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Replaces {@link OrderController} when {@code reactive.orders=true}; the servlet thread is
+ * released while ORDER-SERVICE is working
+ */
+@RestController
+@ConditionalOnProperty(prefix = "reactive", name = "orders", havingValue = "true")
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderReactiveController {
+	
+	private final OrderWebClientService orderWebClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<OrderOrderServiceDtoCollectionResponse>> findAll() {
+		return this.orderWebClientService.findAll().map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{orderId}")
+	public Mono<ResponseEntity<OrderDto>> findById(
+			@PathVariable("orderId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String orderId) {
+		return this.orderWebClientService.findById(orderId).map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<OrderDto>> save(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderDto orderDto) {
+		return this.orderWebClientService.save(orderDto).map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<OrderDto>> update(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderDto orderDto) {
+		return this.orderWebClientService.update(orderDto).map(ResponseEntity::ok);
+	}
+	
+	@PutMapping("/{orderId}")
+	public Mono<ResponseEntity<OrderDto>> update(
+			@PathVariable("orderId")
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String orderId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderDto orderDto) {
+		return this.orderWebClientService.update(orderId, orderDto).map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{orderId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("orderId") final String orderId) {
+		return this.orderWebClientService.deleteById(orderId)
+				.then(Mono.just(ResponseEntity.ok(true)));
+	}
+	
+	
+	
+}
@@ -0,0 +1,72 @@
+package com.selimhorri.app.business.order.service;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link OrderClientService}; 4xx/5xx answers surface as
+ * {@code WebClientResponseException}
+ */
+@Service
+public class OrderWebClientService {
+	
+	private final WebClient webClient;
+	
+	public OrderWebClientService(@LoadBalanced final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL)
+				.build();
+	}
+	
+	public Mono<OrderOrderServiceDtoCollectionResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(OrderOrderServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<OrderDto> findById(final String orderId) {
+		return this.webClient.get()
+				.uri("/{orderId}", orderId)
+				.retrieve()
+				.bodyToMono(OrderDto.class);
+	}
+	
+	public Mono<OrderDto> save(final OrderDto orderDto) {
+		return this.webClient.post()
+				.bodyValue(orderDto)
+				.retrieve()
+				.bodyToMono(OrderDto.class);
+	}
+	
+	public Mono<OrderDto> update(final OrderDto orderDto) {
+		return this.webClient.put()
+				.bodyValue(orderDto)
+				.retrieve()
+				.bodyToMono(OrderDto.class);
+	}
+	
+	public Mono<OrderDto> update(final String orderId, final OrderDto orderDto) {
+		return this.webClient.put()
+				.uri("/{orderId}", orderId)
+				.bodyValue(orderDto)
+				.retrieve()
+				.bodyToMono(OrderDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String orderId) {
+		return this.webClient.delete()
+				.uri("/{orderId}", orderId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
@@ -0,0 +1,34 @@
+package com.selimhorri.app.business.orderDetails.controller;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.orderDetails.model.OrderDetailsDto;
+import com.selimhorri.app.business.orderDetails.service.OrderDetailsService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderDetailsController {
+	
+	private final OrderDetailsService orderDetailsService;
+	
+	@GetMapping("/{orderId}/details")
+	public ResponseEntity<OrderDetailsDto> findByOrderId(
+			@PathVariable("orderId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String orderId) {
+		return ResponseEntity.ok(this.orderDetailsService.findByOrderId(orderId));
+	}
+	
+	
+	
+}
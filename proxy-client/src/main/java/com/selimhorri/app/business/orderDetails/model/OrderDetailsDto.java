@@ -0,0 +1,55 @@
+package com.selimhorri.app.business.orderDetails.model;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything an order page needs in one response; parts whose downstream
+ * call failed or timed out are left out and named in {@code unavailable}
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderDetailsDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public static final String ORDER = "order";
+	public static final String CART = "cart";
+	public static final String PAYMENTS = "payments";
+	public static final String ORDER_ITEMS = "orderItems";
+	
+	@JsonProperty("order")
+	@JsonInclude(Include.NON_NULL)
+	private OrderDto orderDto;
+	
+	@JsonProperty("cart")
+	@JsonInclude(Include.NON_NULL)
+	private CartDto cartDto;
+	
+	@JsonProperty("payments")
+	@JsonInclude(Include.NON_NULL)
+	private Collection<PaymentDto> paymentDtos;
+	
+	@JsonProperty("orderItems")
+	@JsonInclude(Include.NON_NULL)
+	private Collection<OrderItemDto> orderItemDtos;
+	
+	private Set<String> unavailable;
+	
+}
@@ -0,0 +1,9 @@
+package com.selimhorri.app.business.orderDetails.service;
+
+import com.selimhorri.app.business.orderDetails.model.OrderDetailsDto;
+
+public interface OrderDetailsService {
+	
+	OrderDetailsDto findByOrderId(final String orderId);
+	
+}
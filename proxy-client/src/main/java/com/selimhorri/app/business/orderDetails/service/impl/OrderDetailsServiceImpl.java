@@ -0,0 +1,88 @@
+package com.selimhorri.app.business.orderDetails.service.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderDetails.model.OrderDetailsDto;
+import com.selimhorri.app.business.orderDetails.service.OrderDetailsService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.fanout.FanOutExecutor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Payments and order items only need the order id, so they are requested together with the order;
+ * the cart (which ORDER-SERVICE returns with its user) follows as soon as the order names it.
+ * Latency is therefore max(order + cart, payments, order items) instead of their sum.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderDetailsServiceImpl implements OrderDetailsService {
+	
+	private final OrderClientService orderClientService;
+	private final CartClientService cartClientService;
+	private final PaymentClientService paymentClientService;
+	private final OrderItemClientService orderItemClientService;
+	private final FanOutExecutor fanOutExecutor;
+	
+	@Override
+	public OrderDetailsDto findByOrderId(final String orderId) {
+		log.info("** OrderDetailsDto, aggregate order details service*\n");
+		
+		final CompletableFuture<OrderDto> orderDto = this.fanOutExecutor.call("order-service", 
+				() -> body(this.orderClientService.findById(orderId)));
+		final CompletableFuture<CartDto> cartDto = orderDto.thenCompose(o -> 
+				o == null || o.getCartDto() == null || o.getCartDto().getCartId() == null ? 
+						CompletableFuture.completedFuture(null) : 
+						this.fanOutExecutor.call("order-service", () -> body(this.cartClientService
+								.findById(String.valueOf(o.getCartDto().getCartId())))));
+		final CompletableFuture<PaymentPaymentServiceDtoCollectionResponse> paymentDtos = this.fanOutExecutor
+				.call("payment-service", () -> body(this.paymentClientService.findAllByOrderId(orderId)));
+		final CompletableFuture<OrderItemOrderItemServiceDtoCollectionResponse> orderItemDtos = this.fanOutExecutor
+				.call("shipping-service", () -> body(this.orderItemClientService.findAllByOrderId(orderId)));
+		CompletableFuture.allOf(cartDto, paymentDtos, orderItemDtos).join();
+		
+		final Collection<PaymentDto> payments = paymentDtos.join() == null ? null : paymentDtos.join().getCollection();
+		final Collection<OrderItemDto> orderItems = orderItemDtos.join() == null ? null : orderItemDtos.join().getCollection();
+		final Set<String> unavailable = new LinkedHashSet<>();
+		if (orderDto.join() == null)
+			unavailable.add(OrderDetailsDto.ORDER);
+		if (cartDto.join() == null)
+			unavailable.add(OrderDetailsDto.CART);
+		if (payments == null)
+			unavailable.add(OrderDetailsDto.PAYMENTS);
+		if (orderItems == null)
+			unavailable.add(OrderDetailsDto.ORDER_ITEMS);
+		
+		return OrderDetailsDto.builder()
+				.orderDto(orderDto.join())
+				.cartDto(cartDto.join())
+				.paymentDtos(payments)
+				.orderItemDtos(orderItems)
+				.unavailable(unavailable)
+				.build();
+	}
+	
+	private static <T> T body(final ResponseEntity<T> response) {
+		return response == null ? null : response.getBody();
+	}
+	
+	
+	
+}
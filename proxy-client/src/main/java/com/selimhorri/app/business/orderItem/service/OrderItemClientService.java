@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.orderItem.model.OrderItemDto;
 import com.selimhorri.app.business.orderItem.model.OrderItemId;
@@ -22,6 +23,10 @@ public interface OrderItemClientService {
 	@GetMapping
 	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll();
 	
+	@GetMapping
+	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAllByOrderId(
+			@RequestParam("orderId") final String orderId);
+	
 	@GetMapping("/{orderId}/{productId}")
 	ResponseEntity<OrderItemDto> findById(
 			@PathVariable("orderId") final String orderId, 
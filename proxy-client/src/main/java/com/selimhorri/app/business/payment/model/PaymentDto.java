@@ -23,6 +23,12 @@ public class PaymentDto implements Serializable {
 	private Boolean isPayed;
 	private PaymentStatus paymentStatus;
 	
+	/**
+	 * Passed through so clients can make PAYMENT-SERVICE reject updates of a payment changed since they read it
+	 */
+	@JsonInclude(Include.NON_NULL)
+	private Integer version;
+	
 	@JsonProperty("order")
 	@JsonInclude(Include.NON_NULL)
 	private OrderDto orderDto;
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.payment.model.PaymentDto;
 import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
@@ -22,6 +23,10 @@ public interface PaymentClientService {
 	@GetMapping
 	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll();
 	
+	@GetMapping
+	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAllByOrderId(
+			@RequestParam("orderId") final String orderId);
+	
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
 			@PathVariable("paymentId") 
@@ -10,10 +10,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.auth.cache.UserDetailsCache;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.CredentialClientService;
 
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -22,6 +24,7 @@ import lombok.RequiredArgsConstructor;
 public class CredentialController {
 	
 	private final CredentialClientService credentialClientService;
+	private final UserDetailsCache userDetailsCache;
 	
 	@GetMapping
 	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
@@ -40,22 +43,57 @@ public class CredentialController {
 	
 	@PostMapping
 	public ResponseEntity<CredentialDto> save(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.save(credentialDto).getBody());
+		final CredentialDto saved = this.credentialClientService.save(credentialDto).getBody();
+		this.evict(credentialDto);
+		return ResponseEntity.ok(saved);
 	}
 	
 	@PutMapping
 	public ResponseEntity<CredentialDto> update(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final CredentialDto previous = this.findPrevious(credentialDto.getCredentialId());
+		final CredentialDto updated = this.credentialClientService.update(credentialDto).getBody();
+		this.evict(previous);
+		this.evict(credentialDto);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@PutMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final CredentialDto previous = this.findPrevious(Integer.parseInt(credentialId));
+		final CredentialDto updated = this.credentialClientService.update(credentialDto).getBody();
+		this.evict(previous);
+		this.evict(credentialDto);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{credentialId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+		final CredentialDto deleted = this.credentialClientService.findById(credentialId).getBody();
+		final Boolean result = this.credentialClientService.deleteById(credentialId).getBody();
+		this.evict(deleted);
+		return ResponseEntity.ok(result);
+	}
+	
+	/**
+	 * The stored credential before an update, so a changed username evicts the old name as well
+	 */
+	private CredentialDto findPrevious(final Integer credentialId) {
+		if (credentialId == null)
+			return null;
+		try {
+			return this.credentialClientService.findById(String.valueOf(credentialId)).getBody();
+		}
+		catch (FeignException e) {
+			return null; // the update itself reports the missing credential
+		}
+	}
+	
+	/**
+	 * Credential writes through this instance take effect at once; other instances catch up on TTL
+	 */
+	private void evict(final CredentialDto credentialDto) {
+		if (credentialDto != null && credentialDto.getUsername() != null)
+			this.userDetailsCache.evict(credentialDto.getUsername());
 	}
 	
 	
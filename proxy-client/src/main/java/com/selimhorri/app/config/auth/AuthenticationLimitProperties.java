@@ -0,0 +1,55 @@
+package com.selimhorri.app.config.auth;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Limits applied to {@code /api/authenticate} (see {@code authentication.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "authentication")
+@Data
+public class AuthenticationLimitProperties {
+	
+	/**
+	 * Number of BCrypt verifications allowed to run at the same time, one per core by default
+	 */
+	private int maxConcurrentVerifications = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * How long a login waits for a verification slot before it is rejected
+	 */
+	private Duration maxQueueWait = Duration.ofMillis(500);
+	
+	/**
+	 * Window over which attempts per username and per client IP are counted
+	 */
+	private Duration window = Duration.ofMinutes(1);
+	
+	/**
+	 * Attempts allowed for one username within a window
+	 */
+	private int maxAttemptsPerUsername = 10;
+	
+	/**
+	 * Attempts allowed from one client IP within a window
+	 */
+	private int maxAttemptsPerIp = 50;
+	
+	/**
+	 * Number of proxies in front of this service (the API gateway by default) that append the address
+	 * they saw to X-Forwarded-For; the client IP is read that many entries from the right, so values a
+	 * client puts in the header itself are ignored. 0 uses the socket address.
+	 */
+	private int trustedProxies = 1;
+	
+	/**
+	 * Maximum number of usernames and IPs tracked at once
+	 */
+	private long maxTrackedKeys = 100_000;
+	
+}
@@ -0,0 +1,33 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Tuning for the per-request {@code UserDetails} cache (see {@code user-details-cache.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "user-details-cache")
+@Data
+public class UserDetailsCacheProperties {
+	
+	/**
+	 * How long a resolved user is trusted before USER-SERVICE is asked again
+	 */
+	private Duration ttl = Duration.ofMinutes(5);
+	
+	/**
+	 * How long an unknown username is remembered, shorter so new accounts show up quickly
+	 */
+	private Duration negativeTtl = Duration.ofSeconds(30);
+	
+	/**
+	 * Maximum number of cached usernames
+	 */
+	private long maxSize = 10_000;
+	
+}
@@ -0,0 +1,21 @@
+package com.selimhorri.app.config.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Tuning for the verified bearer token cache (see {@code jwt.token-cache.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "jwt.token-cache")
+@Data
+public class VerifiedTokenCacheProperties {
+	
+	/**
+	 * Maximum number of distinct tokens kept, least recently used go first
+	 */
+	private long maxSize = 50_000;
+	
+}
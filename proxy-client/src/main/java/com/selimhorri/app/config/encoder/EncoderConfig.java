@@ -1,5 +1,6 @@
 package com.selimhorri.app.config.encoder;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,9 +9,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class EncoderConfig {
 	
+	/**
+	 * BCrypt cost (log2 rounds); hashes stored with a lower cost are re-hashed on the next successful login
+	 */
+	@Value("${authentication.bcrypt-strength:10}")
+	private int strength = 10;
+	
 	@Bean
 	public PasswordEncoder getPasswordEncoder() {
-		return new BCryptPasswordEncoder();
+		return new BCryptPasswordEncoder(this.strength);
 	}
 	
 	
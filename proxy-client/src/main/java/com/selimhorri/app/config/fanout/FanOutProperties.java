@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.fanout;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Sizing of the pool used for concurrent downstream calls (see {@code fan-out.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "fan-out")
+@Data
+public class FanOutProperties {
+	
+	/**
+	 * Number of threads issuing downstream calls
+	 */
+	private int poolSize = 32;
+	
+	/**
+	 * Calls waiting for a free thread; further calls are rejected and reported as unavailable
+	 */
+	private int queueCapacity = 256;
+	
+	/**
+	 * How long a downstream call is waited for, counted from submission so queueing included, before it
+	 * is reported as unavailable; the pool thread of a running call stays busy until Feign's read timeout
+	 * ends it
+	 */
+	private Duration callTimeout = Duration.ofSeconds(2);
+	
+}
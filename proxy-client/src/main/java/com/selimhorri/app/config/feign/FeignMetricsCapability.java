@@ -0,0 +1,78 @@
+package com.selimhorri.app.config.feign;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import feign.codec.Decoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every Feign client in two meters, both tagged with the client interface and method:
+ * {@code proxy.feign.client.call} for the exchange up to the response headers
+ * (tagged {@code outcome=<status>|IOException}), and {@code proxy.feign.client.decode}
+ * for reading and deserializing the body.
+ * 
+ * Spring Cloud OpenFeign adds every {@link Capability} bean to each client builder.
+ */
+@Component
+public class FeignMetricsCapability implements Capability {
+	
+	private final MeterRegistry meterRegistry;
+	
+	public FeignMetricsCapability(final MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public Client enrich(final Client client) {
+		return (request, options) -> {
+			final long start = System.nanoTime();
+			String outcome = "IOException";
+			try {
+				final Response response = client.execute(request, options);
+				outcome = String.valueOf(response.status());
+				return response;
+			}
+			finally {
+				this.timer("proxy.feign.client.call", "Latency of a Feign call up to the response headers",
+						request.requestTemplate(), outcome)
+						.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		};
+	}
+	
+	@Override
+	public Decoder enrich(final Decoder decoder) {
+		return (response, type) -> {
+			final long start = System.nanoTime();
+			try {
+				return decoder.decode(response, type);
+			}
+			finally {
+				this.timer("proxy.feign.client.decode", "Time spent reading and deserializing a Feign response body",
+						response.request() == null ? null : response.request().requestTemplate(), String.valueOf(response.status()))
+						.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		};
+	}
+	
+	private Timer timer(final String name, final String description, final RequestTemplate template, final String outcome) {
+		final Target<?> target = template == null ? null : template.feignTarget();
+		final MethodMetadata metadata = template == null ? null : template.methodMetadata();
+		return Timer.builder(name)
+				.description(description)
+				.tag("client", target == null ? "unknown" : target.type().getSimpleName())
+				.tag("method", metadata == null ? "unknown" : metadata.method().getName())
+				.tag("outcome", outcome)
+				.register(this.meterRegistry);
+	}
+	
+}
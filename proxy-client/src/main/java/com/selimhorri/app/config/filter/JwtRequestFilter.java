@@ -1,6 +1,9 @@
 package com.selimhorri.app.config.filter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -8,15 +11,21 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.selimhorri.app.business.auth.cache.UserDetailsCache;
+import com.selimhorri.app.jwt.cache.VerifiedTokenCache;
 import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,8 +34,10 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
 	
-	private final UserDetailsService userDetailsService;
+	private final UserDetailsCache userDetailsCache;
 	private final JwtService jwtService;
+	private final JwtValidationProperties jwtValidationProperties;
+	private final VerifiedTokenCache verifiedTokenCache;
 	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
@@ -36,21 +47,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		
 		final var authorizationHeader = request.getHeader("Authorization");
 		
-		String username = null;
-		String jwt = null;
-		
-		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
-			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
-		}
-		
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ") 
+				&& SecurityContextHolder.getContext().getAuthentication() == null) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
+					this.authenticate(authorizationHeader.substring(7));
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
-				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
-						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+			if (usernamePasswordAuthenticationToken != null) {
 				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
 			}
@@ -61,6 +64,37 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		log.info("**Jwt request filtered!*\n");
 	}
 	
+	/**
+	 * Verifies the token at most once per lifetime (see {@link VerifiedTokenCache}), then builds the authentication from its role claims, 
+	 * or from the (cached) UserDetails in USER_DETAILS mode and for tokens issued without role claims
+	 * 
+	 * @return null when the token is invalid, expired or names an unknown user
+	 */
+	private UsernamePasswordAuthenticationToken authenticate(final String jwt) {
+		
+		final Claims claims;
+		try {
+			claims = this.verifiedTokenCache.verify(jwt, this.jwtService::verifyToken);
+		}
+		catch (JwtException | IllegalArgumentException e) {
+			log.debug("Rejected bearer token: {}", e.getMessage());
+			return null;
+		}
+		
+		final List<?> roles = claims.get(JwtUtil.AUTHORITIES_CLAIM, List.class);
+		if (this.jwtValidationProperties.getMode() == JwtValidationProperties.Mode.STATELESS && roles != null) {
+			final Collection<GrantedAuthority> authorities = roles.stream()
+					.map(role -> new SimpleGrantedAuthority(String.valueOf(role)))
+					.collect(Collectors.toUnmodifiableList());
+			return new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+		}
+		
+		final UserDetails userDetails = this.userDetailsCache.find(claims.getSubject()).orElse(null);
+		return userDetails != null 
+				? new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()) 
+				: null;
+	}
+	
 	
 	
 }
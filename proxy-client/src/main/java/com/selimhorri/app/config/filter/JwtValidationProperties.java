@@ -0,0 +1,28 @@
+package com.selimhorri.app.config.filter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * How {@link JwtRequestFilter} turns a verified token into an authentication (see {@code jwt.validation.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "jwt.validation")
+@Data
+public class JwtValidationProperties {
+	
+	/**
+	 * USER_DETAILS resolves the user (through the user details cache) on every request, so a
+	 * disabled or demoted account loses access within the cache TTL. STATELESS trusts the role
+	 * claims of a verified token and is opt-in: such an account keeps access until its token expires.
+	 */
+	private Mode mode = Mode.USER_DETAILS;
+	
+	public enum Mode {
+		STATELESS,
+		USER_DETAILS
+	}
+	
+}
@@ -0,0 +1,57 @@
+package com.selimhorri.app.config.reactive;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Non-blocking pass-through mode (see {@code reactive.*} in application.yml).
+ * 
+ * Each controller group is served either by its Feign-backed controller, which holds a Tomcat
+ * thread for the whole downstream call, or by a WebClient-backed one returning {@code Mono},
+ * which releases the thread until the downstream answers.
+ */
+@Component
+@ConfigurationProperties(prefix = "reactive")
+@Data
+public class ReactiveProperties {
+	
+	/**
+	 * Serve {@code /api/orders} through the WebClient path
+	 */
+	private boolean orders = false;
+	
+	/**
+	 * Serve {@code /api/favourites} through the WebClient path
+	 */
+	private boolean favourites = false;
+	
+	/**
+	 * Time allowed to establish a TCP connection
+	 */
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	
+	/**
+	 * Time allowed for a downstream response
+	 */
+	private Duration responseTimeout = Duration.ofSeconds(10);
+	
+	/**
+	 * Open connections of the WebClient pool
+	 */
+	private int maxConnections = 500;
+	
+	/**
+	 * Time a call waits for a free pooled connection before failing
+	 */
+	private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+	
+	/**
+	 * Idle connections are closed after this long
+	 */
+	private Duration maxIdleTime = Duration.ofSeconds(30);
+	
+}
@@ -0,0 +1,65 @@
+package com.selimhorri.app.config.reactive;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Load-balanced {@link WebClient.Builder} for the non-blocking pass-through controllers.
+ * 
+ * Callers must {@code clone()} the builder before setting a base URL, it is shared.
+ * Connection pool usage is published as {@code reactor.netty.connection.provider.*}
+ * tagged {@code name=proxy-web-client}.
+ */
+@Configuration
+public class WebClientConfig {
+	
+	@Bean(destroyMethod = "dispose")
+	public ConnectionProvider webClientConnectionProvider(final ReactiveProperties properties) {
+		return ConnectionProvider.builder("proxy-web-client")
+				.maxConnections(properties.getMaxConnections())
+				.pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+				.maxIdleTime(properties.getMaxIdleTime())
+				.metrics(true)
+				.build();
+	}
+	
+	@LoadBalanced
+	@Bean
+	public WebClient.Builder loadBalancedWebClientBuilder(final ConnectionProvider webClientConnectionProvider, 
+			final ReactiveProperties properties, final ObjectMapper objectMapper) {
+		final HttpClient httpClient = HttpClient.create(webClientConnectionProvider)
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+				.responseTimeout(properties.getResponseTimeout())
+				.compress(true);
+		return WebClient.builder()
+				.clientConnector(new ReactorClientHttpConnector(httpClient))
+				.codecs(codecs -> {
+					codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+					codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+				});
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,80 @@
+package com.selimhorri.app.config.template;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.cloud.client.loadbalancer.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Pooled Apache HttpClient for inter-service calls.
+ * 
+ * The {@link RestTemplateCustomizer} is applied by Spring Cloud to every {@code @LoadBalanced}
+ * RestTemplate, so {@code TemplateConfig} keeps declaring a plain template. The Feign clients use the
+ * same {@link CloseableHttpClient} bean through feign-httpclient. Pool usage is
+ * published as {@code httpcomponents.httpclient.pool.*} tagged {@code httpclient=rest-template}.
+ */
+@Configuration
+public class HttpClientConfig {
+	
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager pooledConnectionManager(final HttpClientProperties properties) {
+		final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(properties.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+		return connectionManager;
+	}
+	
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient pooledHttpClient(final PoolingHttpClientConnectionManager pooledConnectionManager, 
+			final HttpClientProperties properties) {
+		final long keepAlive = properties.getKeepAlive().toMillis();
+		return HttpClients.custom()
+				.setConnectionManager(pooledConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+						.setSocketTimeout((int) properties.getReadTimeout().toMillis())
+						.setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+						.build())
+				.setKeepAliveStrategy((response, context) -> {
+					final long announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+					return announced > 0 ? Math.min(announced, keepAlive) : keepAlive;
+				})
+				.evictExpiredConnections()
+				.evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+	
+	@Bean
+	public RestTemplateCustomizer pooledRequestFactoryCustomizer(final CloseableHttpClient pooledHttpClient) {
+		return restTemplate -> restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory(pooledHttpClient));
+	}
+	
+	@Bean
+	public MeterBinder pooledConnectionManagerMetrics(final PoolingHttpClientConnectionManager pooledConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(pooledConnectionManager, "rest-template");
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -10,8 +10,10 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.AuthenticationThrottledException;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
@@ -47,6 +49,21 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = WebClientResponseException.class)
+	public ResponseEntity<ExceptionMsg> handleReactiveProxyException(final WebClientResponseException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle reactive proxy exception*\n");
+		final var badRequest = HttpStatus.BAD_REQUEST;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getResponseBodyAsString())
+					.httpStatus(badRequest)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), badRequest);
+	}
+	
 	@ExceptionHandler(value = {
 		MethodArgumentNotValidException.class,
 		HttpMessageNotReadableException.class
@@ -86,6 +103,21 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = AuthenticationThrottledException.class)
+	public ResponseEntity<ExceptionMsg> handleAuthenticationThrottledException(final AuthenticationThrottledException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle throttled authentication*\n");
+		final var tooManyRequests = HttpStatus.TOO_MANY_REQUESTS;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(tooManyRequests)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), tooManyRequests);
+	}
+	
 	
 	
 }
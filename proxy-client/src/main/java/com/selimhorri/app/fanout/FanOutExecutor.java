@@ -0,0 +1,110 @@
+package com.selimhorri.app.fanout;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.fanout.FanOutProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs independent Feign calls concurrently on a bounded pool.
+ * 
+ * The caller stops waiting for a call {@link FanOutProperties#getCallTimeout()} after it is submitted,
+ * so time spent queued counts against it and a saturated pool cannot stretch the endpoint's latency;
+ * a queued call whose deadline has passed is dropped without running. The pool thread of a running
+ * call is only released once Feign's read timeout fires. When pool and queue are full the call is rejected immediately
+ * instead of running on the request thread. Calls are recorded in a {@code proxy.fan-out.call}
+ * timer tagged with the downstream and {@code outcome=success|failure|rejected}. A call that is
+ * rejected, fails or times out completes with {@code null}, so callers can assemble a partial
+ * result (reporting that part as unavailable) instead of failing the whole request.
+ */
+@Component
+@Slf4j
+public class FanOutExecutor {
+	
+	private final ThreadPoolExecutor executor;
+	private final FanOutProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	public FanOutExecutor(final FanOutProperties properties, final MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		final AtomicInteger threadCount = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(
+				properties.getPoolSize(),
+				properties.getPoolSize(),
+				60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+				runnable -> {
+					final Thread thread = new Thread(runnable, "fan-out-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				},
+				new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+	
+	/**
+	 * @param downstream name of the called service, used as metric tag and in logs
+	 * @param call       blocking downstream call
+	 * @return future completing with the call's result, or {@code null} if it failed or timed out
+	 */
+	public <T> CompletableFuture<T> call(final String downstream, final Supplier<T> call) {
+		final long start = System.nanoTime();
+		final CompletableFuture<T> future = new CompletableFuture<T>()
+				.orTimeout(this.properties.getCallTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		try {
+			this.executor.execute(() -> {
+				if (future.isDone())
+					return;
+				try {
+					future.complete(call.get());
+				}
+				catch (RuntimeException e) {
+					future.completeExceptionally(e);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			this.timer(downstream, "rejected").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			log.warn("Call to {} rejected, fan-out pool is saturated", downstream);
+			return CompletableFuture.completedFuture(null);
+		}
+		return future
+				.handle((result, e) -> {
+					this.timer(downstream, e == null ? "success" : "failure")
+							.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+					if (e != null) {
+						log.warn("Call to {} failed: {}", downstream, e.getMessage());
+						return null;
+					}
+					return result;
+				});
+	}
+	
+	private Timer timer(final String downstream, final String outcome) {
+		return Timer.builder("proxy.fan-out.call")
+				.description("Latency of a downstream call made while aggregating a response")
+				.tag("downstream", downstream)
+				.tag("outcome", outcome)
+				.register(this.meterRegistry);
+	}
+	
+	@PreDestroy
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+	
+}
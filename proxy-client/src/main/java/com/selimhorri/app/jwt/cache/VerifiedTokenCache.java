@@ -0,0 +1,79 @@
+package com.selimhorri.app.jwt.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.config.cache.VerifiedTokenCacheProperties;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Claims of already verified bearer tokens, keyed by the SHA-256 digest of the token.
+ * 
+ * A repeated token skips HMAC verification and claim parsing until its own {@code exp},
+ * at which point the entry expires and the next request verifies (and rejects) it again.
+ * Tokens that fail verification are never cached. Published as {@code cache.*} meters
+ * tagged {@code cache=proxy.verified-tokens}; {@code cache.evictions} shows size pressure.
+ */
+@Component
+public class VerifiedTokenCache {
+	
+	private final Cache<String, Claims> tokens;
+	
+	public VerifiedTokenCache(final VerifiedTokenCacheProperties properties, final MeterRegistry meterRegistry) {
+		this.tokens = Caffeine.newBuilder()
+				.expireAfter(new Expiry<String, Claims>() {
+					@Override
+					public long expireAfterCreate(final String digest, final Claims claims, final long currentTime) {
+						final Date expiration = claims.getExpiration();
+						return expiration == null
+								? 0L
+								: TimeUnit.MILLISECONDS.toNanos(Math.max(0L, expiration.getTime() - System.currentTimeMillis()));
+					}
+					@Override
+					public long expireAfterUpdate(final String digest, final Claims claims, final long currentTime,
+							final long currentDuration) {
+						return currentDuration;
+					}
+					@Override
+					public long expireAfterRead(final String digest, final Claims claims, final long currentTime,
+							final long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.maximumSize(properties.getMaxSize())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.tokens, "proxy.verified-tokens");
+	}
+	
+	/**
+	 * @param verifier full verification, only called on a miss; its exceptions propagate uncached
+	 */
+	public Claims verify(final String token, final Function<String, Claims> verifier) {
+		return this.tokens.get(digest(token), digest -> verifier.apply(token));
+	}
+	
+	private static String digest(final String token) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+	
+}
@@ -50,6 +50,12 @@ public class JwtServiceImpl implements JwtService {
 		return this.jwtUtil.validateToken(token, userDetails);
 	}
 	
+	@Override
+	public Claims verifyToken(final String token) {
+		log.debug("**Claims, jwt service verify given token once and return its claims!*");
+		return this.jwtUtil.verifyToken(token);
+	}
+	
 	
 	
 }
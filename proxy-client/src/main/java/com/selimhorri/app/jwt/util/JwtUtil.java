@@ -9,10 +9,16 @@ import io.jsonwebtoken.Claims;
 
 public interface JwtUtil {
 	
+	/**
+	 * Claim carrying the granted authority names, e.g. {@code ["ROLE_USER"]}
+	 */
+	String AUTHORITIES_CLAIM = "roles";
+	
 	String extractUsername(final String token);
 	Date extractExpiration(final String token);
 	<T> T extractClaims(final String token, final Function<Claims, T> claimsResolver);
 	String generateToken(final UserDetails userDetails);
 	Boolean validateToken(final String token, final UserDetails userDetails);
+	Claims verifyToken(final String token);
 	
 }
@@ -4,7 +4,9 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -39,13 +41,16 @@ public class JwtUtilImpl implements JwtUtil {
 		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
+	private Boolean isTokenExpired(final Claims claims) {
+		return claims.getExpiration().before(new Date());
 	}
 	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
+		claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toList()));
 		return this.createToken(claims, userDetails.getUsername());
 	}
 	
@@ -61,12 +66,21 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		final Claims claims = this.extractAllClaims(token);
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims)
 		);
 	}
 	
+	/**
+	 * Parses the token once; signature and expiry are checked by the parser, 
+	 * which throws a {@link io.jsonwebtoken.JwtException} on any failure
+	 */
+	@Override
+	public Claims verifyToken(final String token) {
+		return this.extractAllClaims(token);
+	}
+	
 	
 	
 }
@@ -13,9 +13,12 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.selimhorri.app.business.auth.limit.BoundedPasswordEncoder;
 import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.config.auth.AuthenticationLimitProperties;
 import com.selimhorri.app.config.filter.JwtRequestFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -26,11 +29,15 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	private final UserDetailsService userDetailsService;
 	private final PasswordEncoder passwordEncoder;
 	private final JwtRequestFilter jwtRequestFilter;
+	private final AuthenticationLimitProperties authenticationLimitProperties;
+	private final MeterRegistry meterRegistry;
 	
 	@Override
 	protected void configure(final AuthenticationManagerBuilder auth) throws Exception {
+		// userDetailsService also implements UserDetailsPasswordService, which the provider uses to re-hash on login
 		auth.userDetailsService(this.userDetailsService)
-			.passwordEncoder(this.passwordEncoder);
+			.passwordEncoder(new BoundedPasswordEncoder(this.passwordEncoder, 
+					this.authenticationLimitProperties, this.meterRegistry));
 	}
 	
 	@Override
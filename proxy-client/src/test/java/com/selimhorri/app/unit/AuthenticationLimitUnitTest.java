@@ -0,0 +1,100 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.business.auth.controller.AuthenticationController;
+import com.selimhorri.app.business.auth.limit.AuthenticationThrottle;
+import com.selimhorri.app.business.auth.limit.BoundedPasswordEncoder;
+import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
+import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.config.auth.AuthenticationLimitProperties;
+import com.selimhorri.app.exception.wrapper.AuthenticationThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthenticationLimitUnitTest {
+
+    @Test
+    void testThrottleRejectsUsernameOverLimit() {
+        AuthenticationLimitProperties properties = new AuthenticationLimitProperties();
+        properties.setMaxAttemptsPerUsername(2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuthenticationThrottle throttle = new AuthenticationThrottle(properties, registry);
+        throttle.acquire("user1", "10.0.0.1");
+        throttle.acquire("user1", "10.0.0.2");
+        assertThrows(AuthenticationThrottledException.class, () -> throttle.acquire("user1", "10.0.0.3"));
+        throttle.acquire("user2", "10.0.0.1");
+        assertEquals(1.0, registry.counter("proxy.auth.throttled", "key", "username").count());
+    }
+
+    @Test
+    void testBusyEncoderRejectsAfterQueueWait() throws Exception {
+        AuthenticationLimitProperties properties = new AuthenticationLimitProperties();
+        properties.setMaxConcurrentVerifications(1);
+        properties.setMaxQueueWait(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, properties, registry);
+        String hash = encoder.encode("secret");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            var first = executor.submit(() -> encoder.matches("secret", hash));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertThrows(AuthenticationThrottledException.class, () -> encoder.matches("secret", hash));
+            assertThrows(AuthenticationThrottledException.class, () -> encoder.encode("secret"));
+            release.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, registry.timer("proxy.auth.password.queue", "outcome", "rejected").count());
+        assertTrue(encoder.matches("secret", hash));
+    }
+
+    @Test
+    void testSpoofedForwardedForDoesNotChangeClientIp() {
+        AuthenticationLimitProperties properties = new AuthenticationLimitProperties();
+        properties.setMaxAttemptsPerIp(1);
+        AuthenticationThrottle throttle = new AuthenticationThrottle(properties, new SimpleMeterRegistry());
+        AuthenticationController controller = new AuthenticationController(
+                Mockito.mock(AuthenticationService.class), throttle, properties);
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        first.addHeader("X-Forwarded-For", "1.1.1.1, 10.0.0.9");
+        controller.authenticate(new AuthenticationRequest("user1", "secret"), first);
+        MockHttpServletRequest second = new MockHttpServletRequest();
+        second.addHeader("X-Forwarded-For", "2.2.2.2, 10.0.0.9");
+        assertThrows(AuthenticationThrottledException.class,
+                () -> controller.authenticate(new AuthenticationRequest("user2", "secret"), second));
+    }
+
+    @Test
+    void testLowerCostHashNeedsUpgrade() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(6),
+                new AuthenticationLimitProperties(), new SimpleMeterRegistry());
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.config.feign.FeignMetricsCapability;
+import feign.Feign;
+import feign.RequestLine;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FeignMetricsCapabilityUnitTest {
+
+    interface CatalogClient {
+        @RequestLine("GET /products")
+        String findAll();
+    }
+
+    @Test
+    void testCallAndDecodeAreTimedPerClientMethod() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CatalogClient client = Feign.builder()
+                .addCapability(new FeignMetricsCapability(registry))
+                .client((request, options) -> Response.builder()
+                        .status(200)
+                        .request(request)
+                        .headers(Map.of())
+                        .body("[]", StandardCharsets.UTF_8)
+                        .build())
+                .target(CatalogClient.class, "http://product-service");
+        assertEquals("[]", client.findAll());
+        assertEquals(1, registry.get("proxy.feign.client.call")
+                .tags("client", "CatalogClient", "method", "findAll", "outcome", "200").timer().count());
+        assertEquals(1, registry.get("proxy.feign.client.decode")
+                .tags("client", "CatalogClient", "method", "findAll").timer().count());
+    }
+}
@@ -1,9 +1,15 @@
 package com.selimhorri.app.unit;
 
+import com.selimhorri.app.jwt.util.JwtUtil;
 import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Date;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class JwtUtilImplUnitTest {
@@ -47,6 +53,23 @@ public class JwtUtilImplUnitTest {
         assertFalse(jwtUtil.validateToken(token, otherUser));
     }
 
+    @Test
+    void testVerifyTokenReturnsRoleClaims() {
+        JwtUtilImpl jwtUtil = new JwtUtilImpl();
+        UserDetails user = new User("user1", "pass",
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        Claims claims = jwtUtil.verifyToken(jwtUtil.generateToken(user));
+        assertEquals("user1", claims.getSubject());
+        assertEquals(List.of("ROLE_ADMIN"), claims.get(JwtUtil.AUTHORITIES_CLAIM, List.class));
+    }
+
+    @Test
+    void testVerifyTokenRejectsTamperedToken() {
+        JwtUtilImpl jwtUtil = new JwtUtilImpl();
+        String token = jwtUtil.generateToken(new DummyUserDetails("user1"));
+        assertThrows(JwtException.class, () -> jwtUtil.verifyToken(token.substring(0, token.length() - 2) + "xx"));
+    }
+
     // Dummy UserDetails for testing
     static class DummyUserDetails implements UserDetails {
         private final String username;
@@ -0,0 +1,133 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.CartClientService;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderDetails.model.OrderDetailsDto;
+import com.selimhorri.app.business.orderDetails.service.impl.OrderDetailsServiceImpl;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.config.fanout.FanOutProperties;
+import com.selimhorri.app.fanout.FanOutExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.ResponseEntity;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderDetailsServiceUnitTest {
+
+    private final OrderClientService orderClientService = Mockito.mock(OrderClientService.class);
+    private final CartClientService cartClientService = Mockito.mock(CartClientService.class);
+    private final PaymentClientService paymentClientService = Mockito.mock(PaymentClientService.class);
+    private final OrderItemClientService orderItemClientService = Mockito.mock(OrderItemClientService.class);
+    private SimpleMeterRegistry registry;
+    private FanOutExecutor fanOutExecutor;
+    private OrderDetailsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        FanOutProperties properties = new FanOutProperties();
+        properties.setCallTimeout(Duration.ofMillis(200));
+        this.registry = new SimpleMeterRegistry();
+        this.fanOutExecutor = new FanOutExecutor(properties, this.registry);
+        this.service = new OrderDetailsServiceImpl(this.orderClientService, this.cartClientService,
+                this.paymentClientService, this.orderItemClientService, this.fanOutExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.fanOutExecutor.shutdown();
+    }
+
+    @Test
+    void testSlowAndFailingCallsYieldPartialResult() {
+        Mockito.when(this.orderClientService.findById("1")).thenReturn(ResponseEntity.ok(
+                OrderDto.builder().orderId(1).cartDto(CartDto.builder().cartId(7).build()).build()));
+        Mockito.when(this.cartClientService.findById("7")).thenReturn(ResponseEntity.ok(
+                CartDto.builder().cartId(7).userId(3).build()));
+        Mockito.when(this.orderItemClientService.findAllByOrderId("1")).thenReturn(ResponseEntity.ok(
+                new OrderItemOrderItemServiceDtoCollectionResponse(List.of(OrderItemDto.builder().orderId(1).productId(5).build()))));
+        Mockito.when(this.paymentClientService.findAllByOrderId("1")).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return null;
+        });
+
+        long start = System.nanoTime();
+        OrderDetailsDto details = this.service.findByOrderId("1");
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+
+        assertEquals(1, details.getOrderDto().getOrderId());
+        assertEquals(3, details.getCartDto().getUserId());
+        assertEquals(1, details.getOrderItemDtos().size());
+        assertNull(details.getPaymentDtos());
+        assertEquals(Set.of(OrderDetailsDto.PAYMENTS), details.getUnavailable());
+        assertEquals(1, this.registry.timer("proxy.fan-out.call", "downstream", "payment-service", "outcome", "failure").count());
+    }
+
+    @Test
+    void testMissingOrderSkipsCart() {
+        Mockito.when(this.orderClientService.findById("2")).thenThrow(new IllegalStateException("order-service down"));
+        Mockito.when(this.paymentClientService.findAllByOrderId("2")).thenReturn(ResponseEntity.ok(null));
+        Mockito.when(this.orderItemClientService.findAllByOrderId("2")).thenReturn(ResponseEntity.ok(null));
+
+        OrderDetailsDto details = this.service.findByOrderId("2");
+
+        assertTrue(details.getUnavailable().containsAll(Set.of(OrderDetailsDto.ORDER, OrderDetailsDto.CART)));
+        Mockito.verifyNoInteractions(this.cartClientService);
+    }
+
+    @Test
+    void testSaturatedPoolRejectsAndQueuedCallsShareTheDeadline() throws Exception {
+        FanOutProperties properties = new FanOutProperties();
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(1);
+        properties.setCallTimeout(Duration.ofMillis(200));
+        FanOutExecutor executor = new FanOutExecutor(properties, this.registry);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> blocked = executor.call("order-service", () -> {
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "blocked";
+            });
+            AtomicBoolean queuedRan = new AtomicBoolean();
+            CompletableFuture<String> queued = executor.call("payment-service", () -> {
+                queuedRan.set(true);
+                return "queued";
+            });
+            CompletableFuture<String> rejected = executor.call("shipping-service", () -> "rejected");
+
+            assertTrue(rejected.isDone());
+            assertNull(rejected.join());
+            // the queued call's deadline started at submission, so it times out with the blocked one
+            assertNull(blocked.get(1, TimeUnit.SECONDS));
+            assertNull(queued.get(1, TimeUnit.SECONDS));
+            release.countDown();
+            Thread.sleep(100);
+            assertFalse(queuedRan.get());
+            assertEquals(1, this.registry.timer("proxy.fan-out.call", "downstream", "payment-service", "outcome", "failure").count());
+            assertEquals(1, this.registry.timer("proxy.fan-out.call", "downstream", "shipping-service", "outcome", "rejected").count());
+        }
+        finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
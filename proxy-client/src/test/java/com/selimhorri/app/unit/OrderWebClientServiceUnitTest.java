@@ -0,0 +1,50 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderWebClientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderWebClientServiceUnitTest {
+
+    @Test
+    void testFindByIdCallsOrderServiceWithoutBlockingTheCaller() {
+        List<ClientRequest> requests = new ArrayList<>();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("{\"orderId\":5,\"orderDesc\":\"desc\"}")
+                    .build());
+        });
+        OrderWebClientService service = new OrderWebClientService(builder);
+        Mono<OrderDto> order = service.findById("5");
+        assertTrue(requests.isEmpty());
+        assertEquals(5, order.block().getOrderId());
+        assertEquals(HttpMethod.GET, requests.get(0).method());
+        assertEquals("/order-service/api/orders/5", requests.get(0).url().getPath());
+    }
+
+    @Test
+    void testDownstreamErrorSurfacesAsWebClientResponseException() {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> Mono.just(
+                ClientResponse.create(HttpStatus.BAD_REQUEST)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"msg\":\"Order with id: 9 not found\"}")
+                        .build()));
+        OrderWebClientService service = new OrderWebClientService(builder);
+        WebClientResponseException e = assertThrows(WebClientResponseException.class, () -> service.findById("9").block());
+        assertTrue(e.getResponseBodyAsString().contains("not found"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.business.auth.cache.UserDetailsCache;
+import com.selimhorri.app.business.auth.service.impl.UserDetailsServiceImpl;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.business.user.model.UserDetailsImpl;
+import com.selimhorri.app.config.cache.UserDetailsCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDetailsCacheUnitTest {
+
+    @Test
+    void testRepeatedLookupHitsUserServiceOnce() {
+        UserDetailsService service = Mockito.mock(UserDetailsService.class);
+        CredentialDto credential = new CredentialDto();
+        credential.setUsername("user1");
+        credential.setRoleBasedAuthority(RoleBasedAuthority.ROLE_USER);
+        Mockito.when(service.loadUserByUsername("user1")).thenReturn(new UserDetailsImpl(credential));
+        UserDetailsCache cache = new UserDetailsCache(service, new UserDetailsCacheProperties(), new SimpleMeterRegistry());
+        assertEquals("user1", cache.find("user1").orElseThrow().getUsername());
+        assertEquals("user1", cache.find("user1").orElseThrow().getUsername());
+        Mockito.verify(service, Mockito.times(1)).loadUserByUsername("user1");
+    }
+
+    @Test
+    void testUnknownUsernameIsCachedUntilEvicted() {
+        UserDetailsService service = Mockito.mock(UserDetailsService.class);
+        Mockito.when(service.loadUserByUsername("ghost")).thenThrow(new UsernameNotFoundException("ghost"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UserDetailsCache cache = new UserDetailsCache(service, new UserDetailsCacheProperties(), registry);
+        assertTrue(cache.find("ghost").isEmpty());
+        assertTrue(cache.find("ghost").isEmpty());
+        Mockito.verify(service, Mockito.times(1)).loadUserByUsername("ghost");
+        assertEquals(1.0, registry.counter("proxy.user-details.negative.hits").count());
+        cache.evict("ghost");
+        cache.find("ghost");
+        Mockito.verify(service, Mockito.times(2)).loadUserByUsername("ghost");
+    }
+
+    @Test
+    void testOnlyUnknownUsernamesAreNegativelyCached() {
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        UserDetailsCache cache = new UserDetailsCache(new UserDetailsServiceImpl(restTemplate), new UserDetailsCacheProperties(),
+                new SimpleMeterRegistry());
+        Mockito.when(restTemplate.getForObject(Mockito.endsWith("/ghost"), Mockito.eq(CredentialDto.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "not found", null, null, null));
+        Mockito.when(restTemplate.getForObject(Mockito.endsWith("/user1"), Mockito.eq(CredentialDto.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "throttled", null, null, null));
+        assertTrue(cache.find("ghost").isEmpty());
+        // a transient 4xx surfaces and is not remembered as an unknown user
+        assertThrows(HttpClientErrorException.TooManyRequests.class, () -> cache.find("user1"));
+        assertThrows(HttpClientErrorException.TooManyRequests.class, () -> cache.find("user1"));
+        Mockito.verify(restTemplate, Mockito.times(2)).getForObject(Mockito.endsWith("/user1"), Mockito.eq(CredentialDto.class));
+    }
+}
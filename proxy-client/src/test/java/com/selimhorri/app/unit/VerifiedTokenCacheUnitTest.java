@@ -0,0 +1,46 @@
+package com.selimhorri.app.unit;
+
+import com.selimhorri.app.config.cache.VerifiedTokenCacheProperties;
+import com.selimhorri.app.jwt.cache.VerifiedTokenCache;
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VerifiedTokenCacheUnitTest {
+
+    @Test
+    void testRepeatedTokenIsVerifiedOnce() {
+        JwtUtilImpl jwtUtil = new JwtUtilImpl();
+        VerifiedTokenCache cache = new VerifiedTokenCache(new VerifiedTokenCacheProperties(), new SimpleMeterRegistry());
+        String token = jwtUtil.generateToken(new User("user1", "pass", Collections.emptyList()));
+        AtomicInteger verifications = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            Claims claims = cache.verify(token, t -> {
+                verifications.incrementAndGet();
+                return jwtUtil.verifyToken(t);
+            });
+            assertEquals("user1", claims.getSubject());
+        }
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void testRejectedTokenIsNotCached() {
+        JwtUtilImpl jwtUtil = new JwtUtilImpl();
+        VerifiedTokenCache cache = new VerifiedTokenCache(new VerifiedTokenCacheProperties(), new SimpleMeterRegistry());
+        AtomicInteger verifications = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            assertThrows(JwtException.class, () -> cache.verify("not.a.jwt", t -> {
+                verifications.incrementAndGet();
+                return jwtUtil.verifyToken(t);
+            }));
+        }
+        assertEquals(2, verifications.get());
+    }
+}
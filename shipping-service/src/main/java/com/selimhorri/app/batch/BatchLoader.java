@@ -0,0 +1,180 @@
+package com.selimhorri.app.batch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.selimhorri.app.config.batch.BatchLoaderProperties;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataLoader-style micro-batcher: ids passed to {@link #load(Integer)} by any thread are gathered until
+ * {@code batch-loader.max-batch-size} distinct ids are pending or {@code batch-loader.max-delay} has passed,
+ * then resolved with one call of the batch function and handed back through each caller's future.
+ * The same id requested twice within a window is fetched once.
+ * 
+ * The scheduler only runs the max-delay timers; batch calls block on the peer service and are sent from
+ * a separate bounded executor, so slow calls cannot hold up the timers of other batches. A batch the
+ * executor rejects fails at once and its callers keep their placeholders.
+ * 
+ * Publishes {@code batch-loader.batch.size{loader}} and {@code batch-loader.batch.call{loader,outcome}}
+ * with {@code outcome=success|failure|rejected}.
+ */
+@Slf4j
+public class BatchLoader<V> {
+	
+	private final String name;
+	private final Function<List<Integer>, Map<Integer, V>> batchFunction;
+	private final BatchLoaderProperties properties;
+	private final ScheduledExecutorService scheduler;
+	private final Executor executor;
+	private final MeterRegistry meterRegistry;
+	private final DistributionSummary batchSize;
+	
+	private Map<Integer, CompletableFuture<V>> pending = new LinkedHashMap<>();
+	private ScheduledFuture<?> scheduledFlush;
+	
+	public BatchLoader(final String name, final Function<List<Integer>, Map<Integer, V>> batchFunction,
+			final BatchLoaderProperties properties, final ScheduledExecutorService scheduler,
+			final Executor executor, final MeterRegistry meterRegistry) {
+		this.name = name;
+		this.batchFunction = batchFunction;
+		this.properties = properties;
+		this.scheduler = scheduler;
+		this.executor = executor;
+		this.meterRegistry = meterRegistry;
+		this.batchSize = DistributionSummary.builder("batch-loader.batch.size")
+				.description("Distinct ids resolved per batch call")
+				.tag("loader", name)
+				.register(meterRegistry);
+	}
+	
+	/**
+	 * @return future of the value, completed with null when the batch function did not return the id
+	 */
+	public CompletableFuture<V> load(final Integer id) {
+		if (id == null)
+			return CompletableFuture.completedFuture(null);
+		final CompletableFuture<V> future;
+		final Map<Integer, CompletableFuture<V>> full;
+		synchronized (this) {
+			future = this.pending.computeIfAbsent(id, key -> new CompletableFuture<>());
+			if (this.pending.size() == 1)
+				this.scheduledFlush = this.scheduler.schedule(this::flushDue,
+						this.properties.getMaxDelay().toNanos(), TimeUnit.NANOSECONDS);
+			full = this.pending.size() >= this.properties.getMaxBatchSize() ? this.drain() : null;
+		}
+		if (full != null)
+			this.submit(full);
+		return future;
+	}
+	
+	/**
+	 * Loads every id; the returned future completes within {@code batch-loader.timeout} and leaves out ids
+	 * that are unknown, failed or timed out, so callers keep their placeholder
+	 */
+	public CompletableFuture<Map<Integer, V>> loadMany(final Collection<Integer> ids) {
+		final AtomicInteger unresolved = new AtomicInteger();
+		final List<CompletableFuture<Map.Entry<Integer, V>>> entries = ids.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.map(id -> this.load(id)
+						// copy: the timeout is this caller's, the load may be shared with others
+						.copy()
+						.orTimeout(this.properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+						.<Map.Entry<Integer, V>>thenApply(value -> value == null ? null : Map.entry(id, value))
+						.exceptionally(e -> {
+							unresolved.incrementAndGet();
+							return null;
+						}))
+				.collect(Collectors.toList());
+		return CompletableFuture.allOf(entries.toArray(CompletableFuture[]::new))
+				.thenApply(done -> {
+					if (unresolved.get() > 0)
+						log.warn("{} of {} ids could not be resolved by batch loader {}", 
+								unresolved.get(), entries.size(), this.name);
+					return entries.stream()
+							.map(CompletableFuture::join)
+							.filter(Objects::nonNull)
+							.collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+				});
+	}
+	
+	public Map<Integer, V> loadAll(final Collection<Integer> ids) {
+		return this.loadMany(ids).join();
+	}
+	
+	private void flushDue() {
+		final Map<Integer, CompletableFuture<V>> due;
+		synchronized (this) {
+			if (this.pending.isEmpty())
+				return;
+			due = this.drain();
+		}
+		this.submit(due);
+	}
+	
+	// caller holds the lock
+	private Map<Integer, CompletableFuture<V>> drain() {
+		final Map<Integer, CompletableFuture<V>> batch = this.pending;
+		this.pending = new LinkedHashMap<>();
+		if (this.scheduledFlush != null) {
+			this.scheduledFlush.cancel(false);
+			this.scheduledFlush = null;
+		}
+		return batch;
+	}
+	
+	private void submit(final Map<Integer, CompletableFuture<V>> batch) {
+		try {
+			this.executor.execute(() -> this.dispatch(batch));
+		}
+		catch (RejectedExecutionException e) {
+			log.warn("Batch of {} ids rejected for loader {}, dispatch queue is full", batch.size(), this.name);
+			this.callTimer("rejected").record(0, TimeUnit.NANOSECONDS);
+			batch.values().forEach(future -> future.completeExceptionally(e));
+		}
+	}
+	
+	private void dispatch(final Map<Integer, CompletableFuture<V>> batch) {
+		this.batchSize.record(batch.size());
+		final Timer.Sample sample = Timer.start(this.meterRegistry);
+		String outcome = "success";
+		try {
+			final Map<Integer, V> values = this.batchFunction.apply(new ArrayList<>(batch.keySet()));
+			batch.forEach((id, future) -> future.complete(values == null ? null : values.get(id)));
+		}
+		catch (RuntimeException e) {
+			outcome = "failure";
+			log.warn("Batch of {} ids failed for loader {}: {}", batch.size(), this.name, e.getMessage());
+			batch.values().forEach(future -> future.completeExceptionally(e));
+		}
+		finally {
+			sample.stop(this.callTimer(outcome));
+		}
+	}
+	
+	private Timer callTimer(final String outcome) {
+		return Timer.builder("batch-loader.batch.call")
+				.tag("loader", this.name)
+				.tag("outcome", outcome)
+				.register(this.meterRegistry);
+	}
+	
+}
@@ -0,0 +1,44 @@
+package com.selimhorri.app.config.batch;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Tuning for the {@code BatchLoader}s resolving ids against peer /batch endpoints
+ * (see {@code batch-loader.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "batch-loader")
+@Data
+public class BatchLoaderProperties {
+	
+	/**
+	 * A batch is sent as soon as it holds this many distinct ids
+	 */
+	private int maxBatchSize = 64;
+	
+	/**
+	 * Otherwise it is sent this long after its first id arrived
+	 */
+	private Duration maxDelay = Duration.ofMillis(2);
+	
+	/**
+	 * How long a caller waits for its ids; unresolved ids are left out of the result
+	 */
+	private Duration timeout = Duration.ofSeconds(3);
+	
+	/**
+	 * Threads sending batches; the max-delay timers run on a thread of their own
+	 */
+	private int threads = 4;
+	
+	/**
+	 * Batches waiting for a free thread; further batches fail at once and their ids stay unresolved
+	 */
+	private int queueCapacity = 256;
+	
+}
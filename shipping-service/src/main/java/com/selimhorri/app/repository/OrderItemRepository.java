@@ -1,5 +1,9 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.OrderItem;
@@ -7,6 +11,7 @@ import com.selimhorri.app.domain.id.OrderItemId;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
 	
-	
+	Slice<OrderItem> findAllBy(final Pageable pageable);
+	List<OrderItem> findAllByOrderId(final Integer orderId);
 	
 }
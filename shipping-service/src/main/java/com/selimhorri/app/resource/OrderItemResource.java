@@ -11,11 +11,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.OrderItemService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,6 +37,21 @@ public class OrderItemResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** OrderItemDto Slice, controller; fetch orderItems page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.orderItemService
+				.findAll(PageRequestHelper.pageOf(page, size, "orderId", "productId"))));
+	}
+	
+	@GetMapping(params = {"orderId", "!page"})
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAllByOrderId(@RequestParam("orderId") final Integer orderId) {
+		log.info("*** OrderItemDto List, controller; fetch orderItems by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAllByOrderId(orderId)));
+	}
+	
 	@GetMapping("/{orderId}/{productId}")
 	public ResponseEntity<OrderItemDto> findById(
 			@PathVariable("orderId") final String orderId, 
@@ -2,12 +2,17 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
 
 public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
+	Slice<OrderItemDto> findAll(final Pageable pageable);
+	List<OrderItemDto> findAllByOrderId(final Integer orderId);
 	OrderItemDto findById(final OrderItemId orderItemId);
 	OrderItemDto save(final OrderItemDto orderItemDto);
 	OrderItemDto update(final OrderItemDto orderItemDto);
@@ -1,13 +1,19 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.batch.BatchLoader;
 import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
@@ -29,22 +35,40 @@ public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
 	private final RestTemplate restTemplate;
+	private final BatchLoader<ProductDto> productBatchLoader;
+	private final BatchLoader<OrderDto> orderBatchLoader;
 	
 	@Override
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		final List<OrderItemDto> orderItemDtos = this.orderItemRepository.findAll()
 				.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
-					.distinct()
-					.collect(Collectors.toUnmodifiableList());
+					.collect(Collectors.toList());
+		this.attachProductsAndOrders(orderItemDtos);
+		return orderItemDtos.stream()
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Slice<OrderItemDto> findAll(final Pageable pageable) {
+		log.info("*** OrderItemDto Slice, service; fetch orderItems page *");
+		final Slice<OrderItemDto> orderItemDtos = this.orderItemRepository.findAllBy(pageable)
+				.map(OrderItemMappingHelper::map);
+		this.attachProductsAndOrders(orderItemDtos.getContent());
+		return orderItemDtos;
+	}
+	
+	@Override
+	public List<OrderItemDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** OrderItemDto List, service; fetch orderItems by order id *");
+		final List<OrderItemDto> orderItemDtos = this.orderItemRepository.findAllByOrderId(orderId)
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toList());
+		this.attachProductsAndOrders(orderItemDtos);
+		return Collections.unmodifiableList(orderItemDtos);
 	}
 	
 	@Override
@@ -85,6 +109,23 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemRepository.deleteById(orderItemId);
 	}
 	
+	/**
+	 * Products and orders are resolved through the peers' batch endpoints, both sides in parallel and 
+	 * batched with the lookups of concurrent listings; unresolved rows keep their placeholders
+	 */
+	private void attachProductsAndOrders(final List<OrderItemDto> orderItemDtos) {
+		final CompletableFuture<Map<Integer, ProductDto>> productDtos = this.productBatchLoader.loadMany(
+				orderItemDtos.stream().map(OrderItemDto::getProductId).collect(Collectors.toList()));
+		final CompletableFuture<Map<Integer, OrderDto>> orderDtos = this.orderBatchLoader.loadMany(
+				orderItemDtos.stream().map(OrderItemDto::getOrderId).collect(Collectors.toList()));
+		CompletableFuture.allOf(productDtos, orderDtos).join();
+		
+		orderItemDtos.forEach(o -> {
+			o.setProductDto(productDtos.join().getOrDefault(o.getProductId(), o.getProductDto()));
+			o.setOrderDto(orderDtos.join().getOrDefault(o.getOrderId(), o.getOrderDto()));
+		});
+	}
+	
 	
 	
 }
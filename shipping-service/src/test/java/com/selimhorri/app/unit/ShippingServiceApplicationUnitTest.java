@@ -4,7 +4,26 @@ import com.selimhorri.app.ShippingServiceApplication;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.config.client.HttpClientConfig;
+import com.selimhorri.app.config.client.HttpClientProperties;
+import com.selimhorri.app.batch.BatchLoader;
+import com.selimhorri.app.config.batch.BatchLoaderConfig;
+import com.selimhorri.app.config.batch.BatchLoaderProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ShippingServiceApplicationUnitTest {
@@ -56,4 +75,85 @@ public class ShippingServiceApplicationUnitTest {
         assertEquals(20, entity.getOrderId());
         assertEquals(30, entity.getOrderedQuantity());
     }
+
+    @Test
+    void testBatchLoaderGathersConcurrentLoadsAndDropsFailedBatches() {
+        BatchLoaderProperties properties = new BatchLoaderProperties();
+        properties.setMaxBatchSize(3);
+        properties.setMaxDelay(Duration.ofMillis(200));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BatchLoaderConfig config = new BatchLoaderConfig(properties);
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        BatchLoader<String> loader = config.batchLoader("test", ids -> {
+            batches.add(ids);
+            if (ids.contains(9))
+                throw new IllegalStateException("downstream down");
+            return ids.stream().filter(id -> id != 2).collect(Collectors.toMap(Function.identity(), id -> "value-" + id));
+        }, registry);
+        try {
+            CompletableFuture<Map<Integer, String>> first = loader.loadMany(List.of(1, 1, 2));
+            CompletableFuture<Map<Integer, String>> second = loader.loadMany(List.of(2, 3, 4));
+            assertEquals(Map.of(1, "value-1"), first.join());
+            assertEquals(Map.of(3, "value-3", 4, "value-4"), second.join());
+            // 1, 2, 3 filled the first batch immediately, 4 went out after max-delay
+            assertEquals(List.of(List.of(1, 2, 3), List.of(4)), batches);
+            assertEquals(Map.of(), loader.loadAll(List.of(9)));
+            assertEquals(1, registry.get("batch-loader.batch.call").tag("outcome", "failure").timer().count());
+        }
+        finally {
+            config.shutdown();
+        }
+    }
+
+    @Test
+    void testBlockedBatchesDoNotStallTimersAndOverflowIsRejected() throws Exception {
+        BatchLoaderProperties properties = new BatchLoaderProperties();
+        properties.setMaxBatchSize(2);
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BatchLoaderConfig config = new BatchLoaderConfig(properties);
+        CountDownLatch release = new CountDownLatch(1);
+        BatchLoader<String> loader = config.batchLoader("test", ids -> {
+            try {
+                release.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ids.stream().collect(Collectors.toMap(Function.identity(), id -> "value-" + id));
+        }, registry);
+        try {
+            // first batch blocks the only sender, the second waits in the queue
+            CompletableFuture<Map<Integer, String>> blocked = loader.loadMany(List.of(1, 2));
+            CompletableFuture<Map<Integer, String>> queued = loader.loadMany(List.of(3, 4));
+            // a single id goes out on the max-delay timer, which still fires and finds the queue full
+            assertEquals(Map.of(), loader.loadMany(List.of(5)).get(1, TimeUnit.SECONDS));
+            assertEquals(1, registry.get("batch-loader.batch.call").tag("outcome", "rejected").timer().count());
+            release.countDown();
+            assertEquals(Map.of(1, "value-1", 2, "value-2"), blocked.join());
+            assertEquals(Map.of(3, "value-3", 4, "value-4"), queued.join());
+        }
+        finally {
+            release.countDown();
+            config.shutdown();
+        }
+    }
+
+    @Test
+    void testRestTemplateIsBackedByConfiguredPool() throws Exception {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxPerRoute(16);
+        HttpClientConfig config = new HttpClientConfig();
+        PoolingHttpClientConnectionManager connectionManager = config.pooledConnectionManager(properties);
+        try (CloseableHttpClient httpClient = config.pooledHttpClient(connectionManager, properties)) {
+            RestTemplate restTemplate = new RestTemplate();
+            config.pooledRequestFactoryCustomizer(httpClient).customize(restTemplate);
+            assertTrue(restTemplate.getRequestFactory() instanceof HttpComponentsClientHttpRequestFactory);
+            assertEquals(16, connectionManager.getDefaultMaxPerRoute());
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            config.pooledConnectionManagerMetrics(connectionManager).bindTo(registry);
+            assertEquals(200.0, registry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        }
+    }
 }
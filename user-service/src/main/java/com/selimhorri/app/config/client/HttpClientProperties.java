@@ -0,0 +1,59 @@
+package com.selimhorri.app.config.client;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Connection pool and timeouts of the HTTP client behind the {@code @LoadBalanced} RestTemplate
+ * (see {@code http-client.*} in application.yml)
+ */
+@Component
+@ConfigurationProperties(prefix = "http-client")
+@Data
+public class HttpClientProperties {
+	
+	/**
+	 * Open connections across all downstream instances
+	 */
+	private int maxTotal = 200;
+	
+	/**
+	 * Open connections to a single downstream instance (host and port)
+	 */
+	private int maxPerRoute = 50;
+	
+	/**
+	 * Time allowed to establish a TCP connection
+	 */
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	
+	/**
+	 * Time allowed between two packets of a response
+	 */
+	private Duration readTimeout = Duration.ofSeconds(5);
+	
+	/**
+	 * Time a call waits for a free pooled connection before failing
+	 */
+	private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+	
+	/**
+	 * Idle connections are closed after this long
+	 */
+	private Duration idleTimeout = Duration.ofSeconds(30);
+	
+	/**
+	 * Upper bound for keeping a connection alive when the server does not say otherwise
+	 */
+	private Duration keepAlive = Duration.ofSeconds(60);
+	
+	/**
+	 * Pooled connections idle for longer than this are checked before reuse
+	 */
+	private Duration validateAfterInactivity = Duration.ofSeconds(2);
+	
+}
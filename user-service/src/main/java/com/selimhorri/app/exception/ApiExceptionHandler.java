@@ -47,7 +47,8 @@ public class ApiExceptionHandler {
 		UserObjectNotFoundException.class,
 		CredentialNotFoundException.class,
 		VerificationTokenNotFoundException.class,
-		AddressNotFoundException.class
+		AddressNotFoundException.class,
+		IllegalArgumentException.class
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
@@ -2,6 +2,8 @@ package com.selimhorri.app.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Credential;
@@ -10,4 +12,7 @@ public interface CredentialRepository extends JpaRepository<Credential, Integer>
 	
 	Optional<Credential> findByUsername(final String username);
 	
+	Slice<Credential> findAllBy(final Pageable pageable);
+	Slice<Credential> findByCredentialIdGreaterThanOrderByCredentialIdAsc(final Integer credentialId, final Pageable pageable);
+	
 }
@@ -1,8 +1,14 @@
 package com.selimhorri.app.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.selimhorri.app.domain.User;
 
@@ -10,4 +16,10 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 	
 	Optional<User> findByCredentialUsername(final String username);
 	
+	@Query("SELECT u FROM User u LEFT JOIN FETCH u.credential WHERE u.userId IN :userIds")
+	List<User> findAllWithCredentialByUserIdIn(@Param("userIds") final Collection<Integer> userIds);
+	
+	Slice<User> findAllBy(final Pageable pageable);
+	Slice<User> findByUserIdGreaterThanOrderByUserIdAsc(final Integer userId, final Pageable pageable);
+	
 }
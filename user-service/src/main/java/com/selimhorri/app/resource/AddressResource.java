@@ -12,10 +12,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.AddressDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.AddressService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,6 +37,24 @@ public class AddressResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.addressService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<AddressDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** AddressDto Slice, controller; fetch addresses page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.addressService
+				.findAll(PageRequestHelper.pageOf(page, size, "addressId"))));
+	}
+	
+	@GetMapping(params = {"after", "!page"})
+	public ResponseEntity<DtoCollectionResponse<AddressDto>> findAllAfter(
+			@RequestParam("after") final Integer after, 
+			@RequestParam(value = "limit", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** AddressDto Slice, controller; fetch addresses after id *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.addressService
+				.findAllAfter(after, PageRequestHelper.limitOf(limit)), AddressDto::getAddressId));
+	}
+	
 	@GetMapping("/{addressId}")
 	public ResponseEntity<AddressDto> findById(
 			@PathVariable("addressId") 
@@ -12,10 +12,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CredentialDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.CredentialService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,6 +37,24 @@ public class CredentialResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.credentialService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<CredentialDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** CredentialDto Slice, controller; fetch credentials page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.credentialService
+				.findAll(PageRequestHelper.pageOf(page, size, "credentialId"))));
+	}
+	
+	@GetMapping(params = {"after", "!page"})
+	public ResponseEntity<DtoCollectionResponse<CredentialDto>> findAllAfter(
+			@RequestParam("after") final Integer after, 
+			@RequestParam(value = "limit", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** CredentialDto Slice, controller; fetch credentials after id *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.credentialService
+				.findAllAfter(after, PageRequestHelper.limitOf(limit)), CredentialDto::getCredentialId));
+	}
+	
 	@GetMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> findById(
 			@PathVariable("credentialId") 
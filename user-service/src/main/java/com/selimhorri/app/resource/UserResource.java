@@ -1,5 +1,8 @@
 package com.selimhorri.app.resource;
 
+import java.util.Map;
+import java.util.Set;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,10 +15,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,6 +40,24 @@ public class UserResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** UserDto Slice, controller; fetch users page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.userService
+				.findAll(PageRequestHelper.pageOf(page, size, "userId"))));
+	}
+	
+	@GetMapping(params = {"after", "!page"})
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAllAfter(
+			@RequestParam("after") final Integer after, 
+			@RequestParam(value = "limit", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** UserDto Slice, controller; fetch users after id *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.userService
+				.findAllAfter(after, PageRequestHelper.limitOf(limit)), UserDto::getUserId));
+	}
+	
 	@GetMapping("/{userId}")
 	public ResponseEntity<UserDto> findById(
 			@PathVariable("userId") 
@@ -88,6 +111,15 @@ public class UserResource {
 		return ResponseEntity.ok(this.userService.findByUsername(username));
 	}
 	
+	@PostMapping("/batch")
+	public ResponseEntity<Map<Integer, UserDto>> findAllByIds(
+			@RequestBody 
+			@NotNull(message = "Input must not NULL") 
+			@Valid final Set<Integer> userIds) {
+		log.info("*** UserDto Map, resource; fetch users by ids *");
+		return ResponseEntity.ok(this.userService.findAllByIds(userIds));
+	}
+	
 	
 	
 }
@@ -12,10 +12,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.VerificationTokenDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.helper.PageRequestHelper;
 import com.selimhorri.app.service.VerificationTokenService;
 
 import lombok.RequiredArgsConstructor;
@@ -35,6 +37,24 @@ public class VerificationTokenResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.verificationTokenService.findAll()));
 	}
 	
+	@GetMapping(params = "page")
+	public ResponseEntity<DtoCollectionResponse<VerificationTokenDto>> findAll(
+			@RequestParam("page") final int page, 
+			@RequestParam(value = "size", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int size) {
+		log.info("*** VerificationTokenDto Slice, controller; fetch verificationTokens page *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.verificationTokenService
+				.findAll(PageRequestHelper.pageOf(page, size, "verificationTokenId"))));
+	}
+	
+	@GetMapping(params = {"after", "!page"})
+	public ResponseEntity<DtoCollectionResponse<VerificationTokenDto>> findAllAfter(
+			@RequestParam("after") final Integer after, 
+			@RequestParam(value = "limit", defaultValue = PageRequestHelper.DEFAULT_PAGE_SIZE) final int limit) {
+		log.info("*** VerificationTokenDto Slice, controller; fetch verificationTokens after id *");
+		return ResponseEntity.ok(DtoCollectionResponse.of(this.verificationTokenService
+				.findAllAfter(after, PageRequestHelper.limitOf(limit)), VerificationTokenDto::getVerificationTokenId));
+	}
+	
 	@GetMapping("/{verificationTokenId}")
 	public ResponseEntity<VerificationTokenDto> findById(
 			@PathVariable("verificationTokenId") 
@@ -2,11 +2,16 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.dto.AddressDto;
 
 public interface AddressService {
 	
 	List<AddressDto> findAll();
+	Slice<AddressDto> findAll(final Pageable pageable);
+	Slice<AddressDto> findAllAfter(final Integer addressId, final int limit);
 	AddressDto findById(final Integer addressId);
 	AddressDto save(final AddressDto addressDto);
 	AddressDto update(final AddressDto addressDto);
@@ -1,18 +1,26 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.UserDto;
 
 public interface UserService {
 	
 	List<UserDto> findAll();
+	Slice<UserDto> findAll(final Pageable pageable);
+	Slice<UserDto> findAllAfter(final Integer userId, final int limit);
 	UserDto findById(final Integer userId);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
 	UserDto update(final Integer userId, final UserDto userDto);
 	void deleteById(final Integer userId);
 	UserDto findByUsername(final String username);
+	Map<Integer, UserDto> findAllByIds(final Collection<Integer> userIds);
 	
 }
 
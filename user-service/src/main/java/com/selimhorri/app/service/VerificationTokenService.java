@@ -2,11 +2,16 @@ package com.selimhorri.app.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.dto.VerificationTokenDto;
 
 public interface VerificationTokenService {
 	
 	List<VerificationTokenDto> findAll();
+	Slice<VerificationTokenDto> findAll(final Pageable pageable);
+	Slice<VerificationTokenDto> findAllAfter(final Integer verificationTokenId, final int limit);
 	VerificationTokenDto findById(final Integer verificationTokenId);
 	VerificationTokenDto save(final VerificationTokenDto verificationTokenDto);
 	VerificationTokenDto update(final VerificationTokenDto verificationTokenDto);
@@ -5,6 +5,9 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.dto.AddressDto;
@@ -34,6 +37,20 @@ public class AddressServiceImpl implements AddressService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<AddressDto> findAll(final Pageable pageable) {
+		log.info("*** AddressDto Slice, service; fetch addresses page *");
+		return this.addressRepository.findAllBy(pageable)
+				.map(AddressMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<AddressDto> findAllAfter(final Integer addressId, final int limit) {
+		log.info("*** AddressDto Slice, service; fetch addresses after id *");
+		return this.addressRepository.findByAddressIdGreaterThanOrderByAddressIdAsc(addressId, PageRequest.of(0, limit))
+				.map(AddressMappingHelper::map);
+	}
+	
 	@Override
 	public AddressDto findById(final Integer addressId) {
 		log.info("*** AddressDto, service; fetch address by id *");
@@ -5,6 +5,9 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.dto.CredentialDto;
@@ -35,6 +38,20 @@ public class CredentialServiceImpl implements CredentialService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<CredentialDto> findAll(final Pageable pageable) {
+		log.info("*** CredentialDto Slice, service; fetch credentials page *");
+		return this.credentialRepository.findAllBy(pageable)
+				.map(CredentialMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<CredentialDto> findAllAfter(final Integer credentialId, final int limit) {
+		log.info("*** CredentialDto Slice, service; fetch credentials after id *");
+		return this.credentialRepository.findByCredentialIdGreaterThanOrderByCredentialIdAsc(credentialId, PageRequest.of(0, limit))
+				.map(CredentialMappingHelper::map);
+	}
+	
 	@Override
 	public CredentialDto findById(final Integer credentialId) {
 		log.info("*** CredentialDto, service; fetch credential by ids *");
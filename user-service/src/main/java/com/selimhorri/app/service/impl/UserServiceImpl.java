@@ -1,14 +1,20 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.dto.UserDto;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
+import com.selimhorri.app.helper.BatchLookupHelper;
 import com.selimhorri.app.helper.UserMappingHelper;
 import com.selimhorri.app.repository.UserRepository;
 import com.selimhorri.app.service.UserService;
@@ -34,6 +40,20 @@ public class UserServiceImpl implements UserService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<UserDto> findAll(final Pageable pageable) {
+		log.info("*** UserDto Slice, service; fetch users page *");
+		return this.userRepository.findAllBy(pageable)
+				.map(UserMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<UserDto> findAllAfter(final Integer userId, final int limit) {
+		log.info("*** UserDto Slice, service; fetch users after id *");
+		return this.userRepository.findByUserIdGreaterThanOrderByUserIdAsc(userId, PageRequest.of(0, limit))
+				.map(UserMappingHelper::map);
+	}
+	
 	@Override
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id *");
@@ -74,6 +94,16 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new UserObjectNotFoundException(String.format("User with username: %s not found", username))));
 	}
 	
+	@Override
+	public Map<Integer, UserDto> findAllByIds(final Collection<Integer> userIds) {
+		log.info("*** UserDto Map, service; fetch users by ids *");
+		return BatchLookupHelper.findAllInChunks(userIds, chunk -> this.userRepository
+				.findAllWithCredentialByUserIdIn(chunk)
+				.stream()
+					.map(UserMappingHelper::map)
+					.collect(Collectors.toList()), UserDto::getUserId);
+	}
+	
 	
 	
 }
@@ -5,6 +5,9 @@ import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.dto.VerificationTokenDto;
@@ -34,6 +37,20 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<VerificationTokenDto> findAll(final Pageable pageable) {
+		log.info("*** VerificationTokenDto Slice, service; fetch verificationTokens page *");
+		return this.verificationTokenRepository.findAllBy(pageable)
+				.map(VerificationTokenMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<VerificationTokenDto> findAllAfter(final Integer verificationTokenId, final int limit) {
+		log.info("*** VerificationTokenDto Slice, service; fetch verificationTokens after id *");
+		return this.verificationTokenRepository.findByVerificationTokenIdGreaterThanOrderByVerificationTokenIdAsc(verificationTokenId, PageRequest.of(0, limit))
+				.map(VerificationTokenMappingHelper::map);
+	}
+	
 	@Override
 	public VerificationTokenDto findById(final Integer verificationTokenId) {
 		log.info("*** VerificationTokenDto, service; fetch verificationToken by ids *");